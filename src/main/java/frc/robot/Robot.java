@@ -1,39 +1,186 @@
 package frc.robot;
 
 import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.logger.RateLimitedLog;
 import frc.robot.constants.Constants;
-import frc.robot.subsystems.joystick.Gamepad;
 import frc.robot.subsystems.joystick.JoystickSubsystem;
 import frc.robot.subsystems.elevator.ArmSubsystem;
 import frc.robot.subsystems.DrivetrainSubsystem;
+import frc.robot.subsystems.SubsystemScheduler;
+import frc.robot.subsystems.drivetrain.trajectory.Trajectory;
+import frc.robot.subsystems.drivetrain.trajectory.TrajectoryCache;
+import frc.robot.subsystems.drivetrain.trajectory.TrajectoryFollower;
+import frc.robot.subsystems.drivetrain.trajectory.TrajectoryGenerator;
 import frc.robot.subsystems.elevator.ExtenderSubsystem;
 import frc.robot.subsystems.gripper.GripperSubsystem;
 import frc.robot.subsystems.gripper.GripperTiltSubsystem;
+import frc.robot.subsystems.manipulator.ManipulatorPlanner;
+import frc.robot.subsystems.vision.CameraVision;
+import frc.robot.utilities.servo.ServoBank;
+import frc.robot.utilities.servo.ServoCalibrator;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
 import frc.robot.utilities.shuffleboard.ShuffleboardData;
+import frc.robot.utilities.telemetry.TelemetryLog;
+import frc.robot.utilities.timing.LoopProfiler;
+import frc.robot.utilities.timing.StartupOrchestrator;
 
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj.Joystick;
+import edu.wpi.first.wpilibj.command.Scheduler;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 
+import java.util.Arrays;
+
 public class Robot extends TimedRobot {
 
+    // Built in robotInit, after logging is set up
     private Joystick controller; // wpilib joystick
-    ArmSubsystem arm = new ArmSubsystem(Constants.ARM_SERVO_PORT);
-    GripperSubsystem gripper = new GripperSubsystem(Constants.GRIPPER_SERVO_PORT);
-    ExtenderSubsystem extender = new ExtenderSubsystem(Constants.EXTENDER_SERVO_PORT);
-    GripperTiltSubsystem gripperTilt = new GripperTiltSubsystem(Constants.GRIPPER_TILT_SERVO_PORT);
-    DrivetrainSubsystem drivetrain = new DrivetrainSubsystem();
-    JoystickSubsystem joystickSub = new JoystickSubsystem();
-    ShuffleboardData loadData = new ShuffleboardData();
+    ArmSubsystem arm;
+    GripperSubsystem gripper;
+    ExtenderSubsystem extender;
+    GripperTiltSubsystem gripperTilt;
+    DrivetrainSubsystem drivetrain;
+    CameraVision vision;
+    ManipulatorPlanner manipulator;
+    JoystickSubsystem joystickSub;
+    ServoCalibrator calibrator;
+    ShuffleboardData loadData;
+
+    // Binary telemetry log, null if it could not be opened
+    private TelemetryLog telemetry;
+    private int robotModeChannel;
+
+    // Autonomous route, null if it could not be loaded or generated
+    private Trajectory autonomousTrajectory;
+    private final TrajectoryFollower follower = new TrajectoryFollower();
+
+    // Runs each subsystem's periodic() at its own rate
+    private final SubsystemScheduler scheduler = new SubsystemScheduler();
+
+    // ===== LOOP TIMING =====
+    private static final int STAGE_INPUTS = 0;
+    private static final int STAGE_ACTIONS = 1;
+    private static final int STAGE_CONTROL_DRIVETRAIN = 2;
+    private static final int STAGE_TELEMETRY = 3;
+    private static final int STAGE_COMMANDS = 4;
+    private static final int STAGE_SERVO_OUTPUTS = 5;
+    private static final int STAGE_DASHBOARD = 6;
+    // Scheduled subsystems follow in registration order
+    private static final int STAGE_SUBSYSTEMS = 7;
+
+    private static final String[] STAGE_NAMES = {
+            "inputs", "actions", "controlDrivetrain", "telemetry", "commands", "servoOutputs", "dashboard" };
+
+    // Created in robotInit once all subsystems are registered
+    private LoopProfiler loopProfiler;
+
+    // Rate-limited logs write their held back counts this often
+    private static final long LOG_FLUSH_PERIOD_NANOS = RateLimitedLog.DEFAULT_REPEAT_WINDOW_MILLIS * 1_000_000L;
+    private long lastLogFlushNanos = System.nanoTime();
 
     
     // ===== ROBOT INITIALIZATION =====
     @Override
     public void robotInit() {
-        arm.initializeToMiddle();
+        // Logging first, so everything the constructors log ends up in the log file
         LoggingSystem.setupLogging();
+        LoggingSystem.enableAsyncLogging();
         LoggingSystem.logInfo("Robot initialization started");
+        StartupOrchestrator startup = new StartupOrchestrator(Constants.STARTUP_THREADS);
+
+        // Independent work in parallel. The servo subsystems all use ServoBank, which is
+        // not thread safe, so they are built one after another in a single phase. They are
+        // submitted first since the main thread waits for them first; with more tasks than
+        // workers the last one queues.
+        StartupOrchestrator.Task<Void> servoTask = startup.submit("servo subsystems", () -> {
+            arm = new ArmSubsystem(Constants.ARM_SERVO_PORT);
+            gripper = new GripperSubsystem(Constants.GRIPPER_SERVO_PORT);
+            extender = new ExtenderSubsystem(Constants.EXTENDER_SERVO_PORT);
+            gripperTilt = new GripperTiltSubsystem(Constants.GRIPPER_TILT_SERVO_PORT);
+            return null;
+        });
+        StartupOrchestrator.Task<DrivetrainSubsystem> drivetrainTask = startup.submit("drivetrain", DrivetrainSubsystem::new);
+        StartupOrchestrator.Task<CameraVision> visionTask = startup.submit("vision", CameraVision::new);
+        StartupOrchestrator.Task<Trajectory> trajectoryTask = startup.submit("trajectories", this::loadTrajectory);
+        controller = startup.build("controller", () -> new Joystick(0));
+
+        // Everything below depends on the phases above
+        servoTask.join();
+        arm.initializeToMiddle();
+        manipulator = startup.build("manipulator", () -> new ManipulatorPlanner(arm, extender, gripperTilt));
+        drivetrain = drivetrainTask.join();
+        vision = visionTask.join();
+        joystickSub = startup.build("controls",
+                () -> new JoystickSubsystem(controller, drivetrain, arm, gripper, extender, gripperTilt));
+        startup.run("dashboard", () -> {
+            calibrator = new ServoCalibrator();
+            loadData = new ShuffleboardData(calibrator, arm, extender, gripper, gripperTilt);
+        });
+        startup.run("telemetry", this::setupTelemetry);
+
+        startup.run("drivetrain threads", () -> {
+            drivetrain.startOdometry();
+            if (Constants.USE_DRIVETRAIN_CONTROL_THREAD) {
+                drivetrain.startControlLoop(Constants.DRIVETRAIN_CONTROL_PERIOD);
+            }
+        });
+        startup.run("camera", vision::start);
+        autonomousTrajectory = trajectoryTask.join();
+
+        // Subsystem rates: drivetrain and servo motion profiles every cycle, vision every 2nd
+        scheduler.register(drivetrain, 1);
+        scheduler.register(vision, 2);
+        scheduler.register(manipulator, 1);
+        scheduler.register(arm, 1);
+        scheduler.register(gripper, 1);
+        scheduler.register(extender, 1);
+        scheduler.register(gripperTilt, 1);
+
+        String[] subsystemNames = scheduler.getNames();
+        String[] stageNames = Arrays.copyOf(STAGE_NAMES, STAGE_SUBSYSTEMS + subsystemNames.length);
+        System.arraycopy(subsystemNames, 0, stageNames, STAGE_SUBSYSTEMS, subsystemNames.length);
+        loopProfiler = new LoopProfiler("Loop Timing", stageNames, getPeriod());
+
+        // Timing report on demand from the dashboard
+        loadData.addCommand("Loop Timing Report", loopProfiler::logReport);
+        loadData.addCommand("Reset Loop Timing", loopProfiler::reset);
+        loadData.addCommand("Save Camera Frame", vision::saveFrame);
+
+        // Coordinated manipulator moves
+        loadData.addCommand("Manipulator Pick Pose",
+                () -> manipulator.moveTo(Constants.PICK_POSE[0], Constants.PICK_POSE[1], Constants.PICK_POSE[2]));
+        loadData.addCommand("Manipulator Stow Pose",
+                () -> manipulator.moveTo(Constants.STOW_POSE[0], Constants.STOW_POSE[1], Constants.STOW_POSE[2]));
+        loadData.addCommand("Manipulator Cancel", manipulator::cancel);
+
+        startup.finish();
+    }
+
+    @Override
+    public void robotPeriodic() {
+        // Runs commands started from the dashboard buttons
+        Scheduler.getInstance().run();
+        loopProfiler.mark(STAGE_COMMANDS);
+
+        // Write all servo commands of this cycle in one pass
+        ServoBank.flush();
+        ServoBank.publishStats();
+        loopProfiler.mark(STAGE_SERVO_OUTPUTS);
 
+        // The gyro calibrates while disabled, so its state is published in every mode
+        if (drivetrain != null) {
+            DrivetrainSubsystem.publishGyroStatus();
+        }
+
+        // Push changed dashboard values once per publish period, in every mode
+        DashboardPublisher.periodic();
+        long now = System.nanoTime();
+        if (now - lastLogFlushNanos >= LOG_FLUSH_PERIOD_NANOS) {
+            lastLogFlushNanos = now;
+            RateLimitedLog.flushAll();
+        }
+        loopProfiler.mark(STAGE_DASHBOARD);
+        loopProfiler.endLoop();
     }
 
     // ===== TELEOP MODE =====
@@ -41,25 +188,25 @@ public class Robot extends TimedRobot {
     public void teleopInit() {
         LoggingSystem.logTeleop("Teleop mode started");
         SmartDashboard.putString("Robot Mode", "Teleop");
+        recordMode("Teleop");
     }
 
     @Override
     public void teleopPeriodic() {
+        loopProfiler.startLoop();
+
         // Get all controller inputs
         joystickSub.getControllerInputs();
+        loopProfiler.mark(STAGE_INPUTS);
         
         // Control each subsystem
-        joystickSub.controlArm();
-        joystickSub.controlGripper();
-        joystickSub.controlGripperTilt();
-        joystickSub.controlExtender();
+        joystickSub.processActions();
+        loopProfiler.mark(STAGE_ACTIONS);
         joystickSub.controlDrivetrain();
+        loopProfiler.mark(STAGE_CONTROL_DRIVETRAIN);
         
         // Update all subsystems
         updateSubsystems();
-        
-        // Update button states for next cycle
-        updateButtonStates();
     }
 
     // ===== AUTONOMOUS MODE =====
@@ -67,18 +214,47 @@ public class Robot extends TimedRobot {
     public void autonomousInit() {
         LoggingSystem.logInfo("Autonomous mode started");
         SmartDashboard.putString("Robot Mode", "Autonomous");
+        recordMode("Autonomous");
+
+        // The route starts where the robot stands now
+        if (autonomousTrajectory != null) {
+            DrivetrainSubsystem.resetOdometry();
+            follower.start(autonomousTrajectory);
+        }
     }
     
     @Override
     public void autonomousPeriodic() {
+        loopProfiler.startLoop();
+        follower.update();
+        loopProfiler.mark(STAGE_CONTROL_DRIVETRAIN);
         updateSubsystems();
     }
 
+    /**
+     * Loads the autonomous route from the trajectory cache, generating it if the cache is missing or stale
+     * @return The route, null if it could not be loaded or generated
+     */
+    private Trajectory loadTrajectory() {
+        try {
+            TrajectoryGenerator generator = new TrajectoryGenerator(Constants.MAX_DRIVE_SPEED,
+                    Constants.MAX_DRIVE_ACCELERATION, Constants.MAX_ROTATION_SPEED);
+            return TrajectoryCache.load(Constants.AUTONOMOUS_ROUTE_NAME, Constants.AUTONOMOUS_ROUTE, generator);
+        } catch (Exception e) {
+            LoggingSystem.logError("Autonomous trajectory unavailable: " + e.getMessage());
+            return null;
+        }
+    }
+
     // ===== DISABLED MODE =====
     @Override
     public void disabledInit() {
         LoggingSystem.logInfo("Disabled mode activated");
         SmartDashboard.putString("Robot Mode", "Disabled");
+        recordMode("Disabled");
+        RateLimitedLog.flushAll();
+        manipulator.cancel();
+        follower.stop();
         
         try {
             if (drivetrain != null) {
@@ -97,23 +273,42 @@ public class Robot extends TimedRobot {
 
     // ===== UPDATE METHODS =====
     private void updateSubsystems() {
-        drivetrain.periodic();
-        arm.periodic();
-        gripper.periodic();
-        extender.periodic();
-        gripperTilt.periodic();
+        scheduler.run(loopProfiler, STAGE_SUBSYSTEMS);
+        recordTelemetry();
+        loopProfiler.mark(STAGE_TELEMETRY);
     }
-    
-    private void updateButtonStates() {
-        Constants.prevLeftBumperState = controller.getRawButton(Gamepad.LEFT_BUMPER);
-        Constants.prevRightBumperState = controller.getRawButton(Gamepad.RIGHT_BUMPER);
-        Constants.prevXButtonState = controller.getRawButton(Gamepad.BUTTON_X);
-        Constants.prevYButtonState = controller.getRawButton(Gamepad.BUTTON_Y);
-        Constants.prevLeftStickButtonState = controller.getRawButton(Gamepad.LEFT_STICK_BUTTON);
-        Constants.prevRightStickButtonState = controller.getRawButton(Gamepad.RIGHT_STICK_BUTTON);
-        Constants.prevBackButtonState = controller.getRawButton(Gamepad.BACK_BUTTON);
-        Constants.prevStartButtonState = controller.getRawButton(Gamepad.START_BUTTON);
-        Constants.prevAButtonState = controller.getRawButton(Gamepad.BUTTON_A);
-        Constants.prevBButtonState = controller.getRawButton(Gamepad.BUTTON_B);
+
+    // ===== TELEMETRY =====
+    private void setupTelemetry() {
+        try {
+            telemetry = TelemetryLog.open(LoggingSystem.getLogDirectory());
+            robotModeChannel = telemetry.registerString("Robot Mode");
+            drivetrain.registerTelemetry(telemetry);
+            arm.registerTelemetry(telemetry);
+            gripper.registerTelemetry(telemetry);
+            extender.registerTelemetry(telemetry);
+            gripperTilt.registerTelemetry(telemetry);
+            LoggingSystem.logInfo("Telemetry log started - session " + telemetry.getSessionName());
+        } catch (Exception e) {
+            telemetry = null;
+            LoggingSystem.logError("Telemetry log could not be opened: " + e.getMessage());
+        }
+    }
+
+    private void recordTelemetry() {
+        if (telemetry == null) {
+            return;
+        }
+        drivetrain.recordTelemetry(telemetry);
+        arm.recordTelemetry(telemetry);
+        gripper.recordTelemetry(telemetry);
+        extender.recordTelemetry(telemetry);
+        gripperTilt.recordTelemetry(telemetry);
+    }
+
+    private void recordMode(String mode) {
+        if (telemetry != null) {
+            telemetry.recordString(robotModeChannel, mode);
+        }
     }
 }
\ No newline at end of file
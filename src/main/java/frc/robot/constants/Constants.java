@@ -21,18 +21,88 @@ public final class Constants {
       // ===== SPEED CONSTANTS =====
       public static final double MAX_DRIVE_SPEED = 0.10; // m/s
       public static final double MAX_ROTATION_SPEED = 1.0; // rad/s
-      
-      // ===== BUTTON STATE TRACKING =====
-      public static boolean prevLeftBumperState = false;
-      public static boolean prevRightBumperState = false;
-      public static boolean prevXButtonState = false;
-      public static boolean prevYButtonState = false;
-      public static boolean prevLeftStickButtonState = false;
-      public static boolean prevRightStickButtonState = false;
-      public static boolean prevBackButtonState = false;
-      public static boolean prevStartButtonState = false;
-      public static boolean prevAButtonState = false;
-      public static boolean prevBButtonState = false;
-      public static double  prevExtenderInput = 0.0;
+      public static final double MAX_WHEEL_SPEED = 0.5; // m/s wheel surface speed at full motor output
+      public static final double MAX_DRIVE_ACCELERATION = 0.2; // m/s^2, used for trajectories
+
+      // ===== SERVO MOTION LIMITS =====
+      // Velocity in servo range per second, acceleration in servo range per second squared
+      public static final double ARM_MAX_VELOCITY = 1.0;
+      public static final double ARM_MAX_ACCELERATION = 4.0;
+      public static final double GRIPPER_MAX_VELOCITY = 2.0;
+      public static final double GRIPPER_MAX_ACCELERATION = 8.0;
+      public static final double GRIPPER_TILT_MAX_VELOCITY = 1.0;
+      public static final double GRIPPER_TILT_MAX_ACCELERATION = 4.0;
+      public static final double EXTENDER_MAX_VELOCITY = 0.8;
+      public static final double EXTENDER_MAX_ACCELERATION = 3.0;
+
+      // ===== MANIPULATOR GEOMETRY =====
+      // Arm plane: x forward from the arm pivot, z up from the floor, angles counterclockwise from horizontal
+      public static final double ARM_PIVOT_HEIGHT = 0.20; // m
+      // *_AT_MIN/MAX are the linear fallback when deploy/calibration has no file for the servo
+      public static final double ARM_ANGLE_AT_MIN = -30.0; // degrees at arm servo 0.0
+      public static final double ARM_ANGLE_AT_MAX = 90.0; // degrees at arm servo 1.0
+      public static final double ARM_RETRACTED_LENGTH = 0.25; // m, pivot to wrist with the extender retracted
+      public static final double EXTENDER_TRAVEL = 0.15; // m
+      public static final double TILT_ANGLE_AT_MIN = 90.0; // degrees relative to the arm at tilt servo 0.0 (up)
+      public static final double TILT_ANGLE_AT_MAX = -90.0; // degrees relative to the arm at tilt servo 1.0 (down)
+      public static final double GRIPPER_LENGTH = 0.10; // m, wrist to fingertips
+      public static final double GRIPPER_OPENING_AT_MIN = 80.0; // mm between the jaws at gripper servo 0.0 (open)
+      public static final double GRIPPER_OPENING_AT_MAX = 0.0; // mm at gripper servo 1.0 (closed)
+      public static final double FLOOR_CLEARANCE = 0.03; // m
+      public static final double CHASSIS_FRONT = 0.10; // m forward of the pivot
+      public static final double CHASSIS_TOP = 0.12; // m above the floor
+
+      // Manipulator poses: fingertip reach (m), height (m), gripper pitch (degrees)
+      public static final double[] PICK_POSE = { 0.38, 0.25, 0.0 };
+      public static final double[] STOW_POSE = { 0.10, 0.55, 90.0 };
+
+      // ===== INPUT =====
+      public static final double JOG_REPEAT_DELAY = 0.4; // s held before a jog repeats
+      public static final double JOG_REPEAT_PERIOD = 0.1; // s between jog repeats
+
+      // ===== STARTUP =====
+      public static final int STARTUP_THREADS = 3; // workers building subsystems next to the main thread
+
+      // ===== DRIVETRAIN CONTROL LOOP =====
+      public static final boolean USE_DRIVETRAIN_CONTROL_THREAD = true;
+      public static final double DRIVETRAIN_CONTROL_PERIOD = 0.005; // s (200 Hz)
+
+      // ===== GYRO =====
+      public static final double GYRO_CALIBRATION_TIME = 5.0; // s, full calibration when no bias is stored
+      public static final double GYRO_REFINE_TIME = 5.0; // s, drift measurement after booting from a stored bias, 0 to skip
+      public static final String GYRO_BIAS_FILE = "gyro_bias.properties"; // in the operating directory
+
+      // ===== ODOMETRY =====
+      public static final double ODOMETRY_PERIOD = 0.005; // s (200 Hz)
+      public static final int POSE_HISTORY_SIZE = 256; // poses, about 1.3 s at the odometry rate
+
+      // ===== CAMERA =====
+      public static final int CAMERA_DEVICE = 0; // /dev/video number
+      public static final int CAMERA_WIDTH = 640; // px
+      public static final int CAMERA_HEIGHT = 480; // px
+      public static final int CAMERA_FPS = 30;
+      // "" for the USB camera, "synthetic" for generated frames, otherwise raw RGB frames in the deploy directory
+      public static final String CAMERA_TEST_SOURCE = "";
+      public static final int APPLE_MIN_AREA = 400; // px, smaller blobs are noise
+      public static final double APPLE_MAX_ASPECT = 2.0; // longer over shorter bounding box side
+      public static final int MAX_APPLES = 8; // largest apples kept per frame
+      public static final String APPLE_COLOR_TABLE_FILE = "vision/apple_colors.lut"; // in the deploy directory
+      public static final int APPLE_COLOR_TABLE_BITS = 6; // per channel when compiling the table, 2^18 cells
+
+      // ===== AUTONOMOUS =====
+      // Route waypoints: x (m), y (m), gyro angle (degrees), starting where odometry is reset
+      public static final String AUTONOMOUS_ROUTE_NAME = "autonomous";
+      public static final double[][] AUTONOMOUS_ROUTE = {
+              { 0.0, 0.0, 0.0 },
+              { 0.4, 0.0, 0.0 },
+              { 0.7, 0.3, -90.0 } };
+      public static final double TRAJECTORY_POSITION_GAIN = 1.0; // (m/s) per m of position error
+      public static final double TRAJECTORY_ANGLE_GAIN = 2.0; // (rad/s) per rad of angle error
+      public static final double TRAJECTORY_TOLERANCE = 0.02; // m from the end position to finish
+      // DIO channel pairs (A, B), counting up when the wheel turns the robot counterclockwise
+      public static final int[] LEFT_ENCODER_CHANNELS = { 0, 1 };
+      public static final int[] RIGHT_ENCODER_CHANNELS = { 2, 3 };
+      public static final int[] BACK_ENCODER_CHANNELS = { 4, 5 };
+      public static final double DRIVE_ENCODER_PULSES_PER_REV = 1464.0; // at the wheel
 
 }
\ No newline at end of file
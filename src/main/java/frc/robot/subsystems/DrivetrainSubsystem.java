@@ -1,84 +1,257 @@
 package frc.robot.subsystems;
 
 
+import frc.robot.constants.Constants;
+import frc.robot.subsystems.drivetrain.DrivetrainController;
+import frc.robot.subsystems.drivetrain.FastBootGyro;
+import frc.robot.subsystems.drivetrain.OdometryEngine;
+import frc.robot.subsystems.drivetrain.Pose;
+import frc.robot.subsystems.drivetrain.PoseHistory;
+import frc.robot.subsystems.drivetrain.ThreeWheelKinematics;
 import frc.robot.utilities.logger.LoggingSystem;
-import edu.wpi.first.wpilibj.ADXRS450_Gyro;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.utilities.telemetry.TelemetryLog;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
+import edu.wpi.first.wpilibj.Encoder;
+import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.SPI;
+
+import java.io.File;
 
 
 /**
  * Simple drivetrain subsystem for testing servo functionality
  */
-public class DrivetrainSubsystem {
+public class DrivetrainSubsystem implements PeriodicSubsystem {
     
     // Motor channels
     private final int ROTATION_MOTOR_CHANNEL = 0;
     private final int LEFT_MOTOR_CHANNEL = 1;
     private final int RIGHT_MOTOR_CHANNEL = 2;
     
-    // Gyro for rotation measurements
-    private static ADXRS450_Gyro gyro;
-    
-    // Simple position tracking
-    private static double xPosition = 0.0;
-    private static double yPosition = 0.0;
-    private static double angle = 0.0;
+    // Gyro for rotation measurements, calibrates in the background
+    private static FastBootGyro gyro;
+
+    // Wheel encoders, indexed like ThreeWheelKinematics wheel speeds
+    private static final Encoder[] encoders = new Encoder[ThreeWheelKinematics.WHEEL_COUNT];
+
+    // Pose tracking on its own thread
+    private static OdometryEngine odometry;
+
+    // Motor outputs from the last control step, -1.0 to 1.0
+    private static volatile double leftMotorOutput = 0.0;
+    private static volatile double rightMotorOutput = 0.0;
+    private static volatile double backMotorOutput = 0.0;
+
+    // Three-wheel omni kinematics, arrays are only used by whichever thread runs controlStep
+    private static final ThreeWheelKinematics kinematics = new ThreeWheelKinematics(
+            Constants.wheelRadius_mm / 1000.0, Constants.robotRadius_mm / 1000.0);
+    private static final double[] wheelSpeeds = new double[ThreeWheelKinematics.WHEEL_COUNT];
+
+    // High-rate control loop, null while control runs in the robot loop
+    private static volatile DrivetrainController controller;
+
+    // Telemetry channels
+    private int xChannel = -1;
+    private int yChannel = -1;
+    private int angleChannel = -1;
     
     public DrivetrainSubsystem() {
-        // Initialize gyro
-        gyro = new ADXRS450_Gyro();
-        calibrateGyro();
+        // Start the gyro without waiting for its calibration
+        gyro = new FastBootGyro(SPI.Port.kOnboardCS0,
+                new File(Filesystem.getOperatingDirectory(), Constants.GYRO_BIAS_FILE),
+                Constants.GYRO_CALIBRATION_TIME, Constants.GYRO_REFINE_TIME);
+        gyro.start();
+
+        encoders[ThreeWheelKinematics.LEFT] = createEncoder(Constants.LEFT_ENCODER_CHANNELS);
+        encoders[ThreeWheelKinematics.RIGHT] = createEncoder(Constants.RIGHT_ENCODER_CHANNELS);
+        encoders[ThreeWheelKinematics.BACK] = createEncoder(Constants.BACK_ENCODER_CHANNELS);
+        odometry = new OdometryEngine(kinematics, DrivetrainSubsystem::readWheelDistances, gyro::getAngle,
+                Constants.ODOMETRY_PERIOD, Constants.POSE_HISTORY_SIZE);
         
         LoggingSystem.logInfo("Simplified drivetrain subsystem initialized");
     }
     
-    public void calibrateGyro() {
-        LoggingSystem.logInfo("Calibrating gyro...");
-        gyro.calibrate();
-        LoggingSystem.logInfo("Gyro calibration complete");
+    private static Encoder createEncoder(int[] channels) {
+        Encoder encoder = new Encoder(channels[0], channels[1]);
+        encoder.setDistancePerPulse(2 * Math.PI * Constants.wheelRadius_mm / 1000.0 / Constants.DRIVE_ENCODER_PULSES_PER_REV);
+        return encoder;
+    }
+
+    private static void readWheelDistances(double[] distances) {
+        for (int wheel = 0; wheel < ThreeWheelKinematics.WHEEL_COUNT; wheel++) {
+            distances[wheel] = encoders[wheel].getDistance();
+        }
     }
     
     public static void resetOdometry() {
-        xPosition = 0.0;
-        yPosition = 0.0;
-        angle = 0.0;
         gyro.reset();
+        odometry.reset();
         LoggingSystem.logInfo("Odometry reset");
     }
+
+    /**
+     * @return Latest pose from the odometry engine, safe to call from any thread
+     */
+    public static Pose getPose() {
+        return odometry.getPose();
+    }
+
+    /**
+     * Looks up where the robot was at a past time, for measurements that arrive late
+     * @param timestampNanos System.nanoTime() when the measurement was taken
+     * @param out Receives {x, y, angle} as indexed by PoseHistory
+     * @return False if the time is older than the pose history
+     */
+    public static boolean getPoseAt(long timestampNanos, double[] out) {
+        return odometry.getHistory().sample(timestampNanos, out);
+    }
+
+    /**
+     * Allocating version of getPoseAt, null if the time is older than the pose history
+     */
+    public static Pose getPoseAt(long timestampNanos) {
+        double[] sample = new double[3];
+        if (!getPoseAt(timestampNanos, sample)) {
+            return null;
+        }
+        return new Pose(sample[PoseHistory.X], sample[PoseHistory.Y], sample[PoseHistory.ANGLE], timestampNanos);
+    }
     
+    /**
+     * Publishes the gyro calibration state, called from robotPeriodic() so it also shows while disabled
+     */
+    public static void publishGyroStatus() {
+        DashboardPublisher.putString("Gyro State", gyro.getState().toString());
+        DashboardPublisher.putNumber("Gyro Bias (deg/s)", gyro.getBias());
+    }
+
     /**
      * Called periodically to update systems
      */
+    @Override
     public void periodic() {
-        // Update dashboard values
-        SmartDashboard.putNumber("Robot X Position", xPosition);
-        SmartDashboard.putNumber("Robot Y Position", yPosition);
-        SmartDashboard.putNumber("Robot Angle (degrees)", gyro.getAngle());
+        // Update dashboard values from one snapshot, so they always belong together
+        Pose pose = odometry.getPose();
+        DashboardPublisher.putNumber("Robot X Position", pose.getX());
+        DashboardPublisher.putNumber("Robot Y Position", pose.getY());
+        DashboardPublisher.putNumber("Robot Angle (degrees)", pose.getAngle());
+
+        // Log motor speeds for debugging
+        DashboardPublisher.putNumber("Left Motor", leftMotorOutput);
+        DashboardPublisher.putNumber("Right Motor", rightMotorOutput);
+        DashboardPublisher.putNumber("Back Motor", backMotorOutput);
+
+        if (controller != null) {
+            controller.publishStats();
+        }
+        odometry.publishStats();
+    }
+
+    // ===== ODOMETRY THREAD =====
+
+    /**
+     * Starts integrating the encoders and gyro on the odometry thread
+     */
+    public void startOdometry() {
+        odometry.start();
+    }
+
+    public void stopOdometry() {
+        odometry.stop();
+    }
+
+    // ===== CONTROL THREAD =====
+
+    /**
+     * Moves drivetrain control to its own high-rate thread
+     * @param periodSeconds Control period, e.g. 0.005 for 200 Hz
+     */
+    public void startControlLoop(double periodSeconds) {
+        if (controller != null) {
+            return;
+        }
+        controller = new DrivetrainController(DrivetrainSubsystem::controlStep, periodSeconds);
+        controller.start();
+    }
+
+    /**
+     * Stops the control thread, control goes back to the robot loop
+     */
+    public void stopControlLoop() {
+        if (controller != null) {
+            controller.stop();
+            controller = null;
+        }
+    }
+
+    /**
+     * One control step: wheel speeds and motor outputs.
+     * Runs on the control thread, or in the robot loop when no control thread is running.
+     * @param dt Time since the previous step (s)
+     */
+    private static void controlStep(double vx, double vy, double omega, double dt) {
+        // Inverse kinematics, then scale down together if any wheel is over its limit
+        kinematics.toWheelSpeeds(vx, vy, omega, wheelSpeeds);
+        ThreeWheelKinematics.desaturate(wheelSpeeds, Constants.MAX_WHEEL_SPEED);
+
+        // In a real implementation, this would set motor speeds
+        leftMotorOutput = wheelSpeeds[ThreeWheelKinematics.LEFT] / Constants.MAX_WHEEL_SPEED;
+        rightMotorOutput = wheelSpeeds[ThreeWheelKinematics.RIGHT] / Constants.MAX_WHEEL_SPEED;
+        backMotorOutput = wheelSpeeds[ThreeWheelKinematics.BACK] / Constants.MAX_WHEEL_SPEED;
     }
     
     /**
-     * Drive the robot using simple speed values
+     * Registers the pose values as telemetry channels
+     */
+    public void registerTelemetry(TelemetryLog log) {
+        xChannel = log.registerDouble("Robot X Position");
+        yChannel = log.registerDouble("Robot Y Position");
+        angleChannel = log.registerDouble("Robot Angle (degrees)");
+    }
+
+    /**
+     * Records the pose into the telemetry log
+     */
+    public void recordTelemetry(TelemetryLog log) {
+        Pose pose = odometry.getPose();
+        log.recordDouble(xChannel, pose.getX());
+        log.recordDouble(yChannel, pose.getY());
+        log.recordDouble(angleChannel, pose.getAngle());
+    }
+    
+    /**
+     * Drive the robot without strafing
      * @param vx Forward velocity (m/s)
      * @param omega Rotational velocity (rad/s)
      */
     public static void drive(double vx, double omega) {
-        // In a real implementation, this would set motor speeds
-        // For now, just display values on dashboard
-        SmartDashboard.putNumber("Forward Speed", vx);
-        SmartDashboard.putNumber("Rotation Speed", omega);
-        
-        // Log motor speeds for debugging
-        SmartDashboard.putNumber("Left Motor", vx);
-        SmartDashboard.putNumber("Right Motor", vx);
-        SmartDashboard.putNumber("Rotation Motor", omega);
+        drive(vx, 0.0, omega);
+    }
+
+    /**
+     * Drive the robot in any direction while rotating
+     * @param vx Forward velocity (m/s)
+     * @param vy Left velocity (m/s)
+     * @param omega Rotational velocity (rad/s), counterclockwise positive
+     */
+    public static void drive(double vx, double vy, double omega) {
+        DashboardPublisher.putNumber("Forward Speed", vx);
+        DashboardPublisher.putNumber("Strafe Speed", vy);
+        DashboardPublisher.putNumber("Rotation Speed", omega);
+
+        // Hand the setpoint to the control thread, or apply it right away
+        DrivetrainController active = controller;
+        if (active != null) {
+            active.setSetpoint(vx, vy, omega);
+        } else {
+            controlStep(vx, vy, omega, 0.0);
+        }
     }
     
     /**
      * Stop all drivetrain motors
      */
     public static void stop() {
-        // In a real implementation, this would stop motors
-        SmartDashboard.putNumber("Forward Speed", 0);
-        SmartDashboard.putNumber("Rotation Speed", 0);
+        drive(0.0, 0.0);
     }
 }
\ No newline at end of file
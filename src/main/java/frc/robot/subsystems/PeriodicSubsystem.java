@@ -0,0 +1,19 @@
+package frc.robot.subsystems;
+
+/**
+ * A subsystem that is updated from the robot loop by the SubsystemScheduler
+ */
+public interface PeriodicSubsystem {
+
+    /**
+     * Called by the scheduler every rate divider cycles
+     */
+    void periodic();
+
+    /**
+     * @return Name used for timing and log output
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,129 @@
+package frc.robot.subsystems;
+
+import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.logger.RateLimitedLog;
+import frc.robot.utilities.timing.LoopProfiler;
+
+import java.util.Arrays;
+
+/**
+ * Runs registered subsystems at their own rate.
+ *
+ * <p>A subsystem with rate divider n runs every n-th robot cycle. Each
+ * registration gets the phase (0 to n-1) whose cycles currently carry the
+ * least work, so low-rate subsystems are spread across cycles instead of
+ * all running in the same one.
+ */
+public class SubsystemScheduler {
+
+    // Load is tracked over this many cycles, dividers that divide it are spread exactly
+    private static final int LOAD_WINDOW = 120;
+
+    private PeriodicSubsystem[] subsystems = new PeriodicSubsystem[8];
+    private int[] dividers = new int[8];
+    private int[] phases = new int[8];
+    private int count = 0;
+
+    // Number of subsystems scheduled in each cycle of the window
+    private final int[] load = new int[LOAD_WINDOW];
+
+    private long cycle = 0;
+
+    // A subsystem failing every cycle should not flood the log
+    private final RateLimitedLog errorLog = new RateLimitedLog(1000);
+
+    /**
+     * Registers a subsystem that runs every cycle
+     */
+    public void register(PeriodicSubsystem subsystem) {
+        register(subsystem, 1);
+    }
+
+    /**
+     * @param subsystem Subsystem to run
+     * @param rateDivider Run every rateDivider cycles (1 = every cycle)
+     */
+    public void register(PeriodicSubsystem subsystem, int rateDivider) {
+        if (rateDivider < 1) {
+            throw new IllegalArgumentException("Rate divider must be at least 1, got " + rateDivider);
+        }
+
+        // Pick the phase whose busiest cycle is the least busy
+        int bestPhase = 0;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int phase = 0; phase < rateDivider; phase++) {
+            int peak = 0;
+            for (int c = phase; c < LOAD_WINDOW; c += rateDivider) {
+                peak = Math.max(peak, load[c]);
+            }
+            if (peak < bestLoad) {
+                bestLoad = peak;
+                bestPhase = phase;
+            }
+        }
+        for (int c = bestPhase; c < LOAD_WINDOW; c += rateDivider) {
+            load[c]++;
+        }
+
+        if (count == subsystems.length) {
+            subsystems = Arrays.copyOf(subsystems, count * 2);
+            dividers = Arrays.copyOf(dividers, count * 2);
+            phases = Arrays.copyOf(phases, count * 2);
+        }
+        subsystems[count] = subsystem;
+        dividers[count] = rateDivider;
+        phases[count] = bestPhase;
+        count++;
+
+        LoggingSystem.logInfo("Scheduled " + subsystem.getName() + " every " + rateDivider + " cycle(s), phase " + bestPhase);
+    }
+
+    /**
+     * Runs the subsystems due in this cycle
+     */
+    public void run() {
+        run(null, 0);
+    }
+
+    /**
+     * Runs the subsystems due in this cycle and marks each one in the profiler
+     * @param profiler Profiler to mark, or null
+     * @param firstStage Profiler stage of the first registered subsystem, the others follow in order
+     */
+    public void run(LoopProfiler profiler, int firstStage) {
+        for (int i = 0; i < count; i++) {
+            if (cycle % dividers[i] != phases[i]) {
+                continue;
+            }
+            try {
+                subsystems[i].periodic();
+            } catch (Exception e) {
+                PeriodicSubsystem failed = subsystems[i];
+                errorLog.error(() -> failed.getName() + " periodic failed: " + e.getMessage());
+            }
+            if (profiler != null) {
+                profiler.mark(firstStage + i);
+            }
+        }
+        cycle++;
+    }
+
+    /**
+     * @return Names of the registered subsystems in registration order
+     */
+    public String[] getNames() {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = subsystems[i].getName();
+        }
+        return names;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getCycle() {
+        return cycle;
+    }
+}
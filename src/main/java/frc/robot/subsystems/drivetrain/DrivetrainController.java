@@ -0,0 +1,134 @@
+package frc.robot.subsystems.drivetrain;
+
+import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
+import frc.robot.utilities.timing.LatencyHistogram;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Threads;
+
+/**
+ * High-rate control loop for the drivetrain, separate from the 50 Hz robot loop.
+ *
+ * <p>A Notifier calls the control step at a fixed rate (200 Hz by default)
+ * with the latest setpoint from a SetpointSlot, so teleop hands over
+ * setpoints without locking. The time between ticks is recorded to measure
+ * jitter.
+ */
+public class DrivetrainController {
+
+    public static final double DEFAULT_PERIOD = 0.005; // seconds (200 Hz)
+
+    // Priority of the notifier thread, above the main robot thread
+    private static final int REAL_TIME_PRIORITY = 40;
+
+    /**
+     * Work done on every tick of the control thread
+     */
+    public interface ControlStep {
+        /**
+         * @param vx Forward velocity setpoint (m/s)
+         * @param vy Sideways velocity setpoint (m/s)
+         * @param omega Rotational velocity setpoint (rad/s)
+         * @param dt Time since the previous tick (s)
+         */
+        void step(double vx, double vy, double omega, double dt);
+    }
+
+    private final ControlStep controlStep;
+    private final SetpointSlot setpoints = new SetpointSlot();
+    private final double periodSeconds;
+    private final long periodNanos;
+    private final Notifier notifier;
+
+    // Only touched on the control thread
+    private final double[] setpoint = new double[3];
+    private long lastTickNanos = 0;
+    private boolean priorityApplied = false;
+
+    // Timing statistics, written by the control thread and read for reporting
+    private final LatencyHistogram jitter = new LatencyHistogram(10_000, 1000);
+    private volatile long ticks = 0;
+    private volatile long lateTicks = 0;
+
+    /**
+     * @param controlStep Work run on every tick
+     * @param periodSeconds Tick period
+     */
+    public DrivetrainController(ControlStep controlStep, double periodSeconds) {
+        this.controlStep = controlStep;
+        this.periodSeconds = periodSeconds;
+        this.periodNanos = (long) (periodSeconds * 1e9);
+        this.notifier = new Notifier(this::tick);
+        this.notifier.setName("DrivetrainController");
+    }
+
+    public void start() {
+        lastTickNanos = 0;
+        notifier.startPeriodic(periodSeconds);
+        LoggingSystem.logInfo("Drivetrain control loop started at " + Math.round(1.0 / periodSeconds) + " Hz");
+    }
+
+    public void stop() {
+        notifier.stop();
+        LoggingSystem.logInfo("Drivetrain control loop stopped");
+    }
+
+    /**
+     * Hands a new setpoint to the control thread without blocking
+     */
+    public void setSetpoint(double vx, double vy, double omega) {
+        setpoints.set(vx, vy, omega);
+    }
+
+    private void tick() {
+        if (!priorityApplied) {
+            priorityApplied = true;
+            if (!Threads.setCurrentThreadPriority(true, REAL_TIME_PRIORITY)) {
+                LoggingSystem.logWarn("Drivetrain control thread could not get real-time priority");
+            }
+        }
+
+        long now = System.nanoTime();
+        double dt = periodSeconds;
+        if (lastTickNanos != 0) {
+            long elapsed = now - lastTickNanos;
+            jitter.record(Math.abs(elapsed - periodNanos));
+            if (elapsed > 2 * periodNanos) {
+                lateTicks++;
+            }
+            dt = elapsed / 1e9;
+        }
+        lastTickNanos = now;
+
+        setpoints.get(setpoint);
+        controlStep.step(setpoint[0], setpoint[1], setpoint[2], dt);
+        ticks++;
+    }
+
+    // ===== STATISTICS =====
+
+    /**
+     * Publishes tick count and jitter. Values are read while the control thread
+     * keeps writing, so they can be off by a tick.
+     */
+    public void publishStats() {
+        DashboardPublisher.putNumber("Drive Control Ticks", ticks);
+        DashboardPublisher.putNumber("Drive Control Late Ticks", lateTicks);
+        DashboardPublisher.putNumber("Drive Control Jitter p50 (ms)", jitter.getPercentileNanos(50) / 1e6);
+        DashboardPublisher.putNumber("Drive Control Jitter p99 (ms)", jitter.getPercentileNanos(99) / 1e6);
+        DashboardPublisher.putNumber("Drive Control Jitter max (ms)", jitter.getMaxNanos() / 1e6);
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getLateTicks() {
+        return lateTicks;
+    }
+
+    public LatencyHistogram getJitter() {
+        return jitter;
+    }
+}
@@ -0,0 +1,269 @@
+package frc.robot.subsystems.drivetrain;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.SPI;
+import frc.robot.utilities.logger.LoggingSystem;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Properties;
+
+/**
+ * ADXRS450 gyro that calibrates in the background and remembers its bias.
+ *
+ * <p>WPILib's ADXRS450_Gyro calibrates for five seconds in its constructor,
+ * holding up robot start. This class sets up the same SPI accumulator on
+ * its own thread. With a bias stored by an earlier boot it is ready as
+ * soon as the SPI bus is configured, then optionally refines the bias by
+ * watching the drift while the robot is disabled and stands still. Without
+ * one it runs the full calibration and stores the result. Until the gyro
+ * is ready the angle reads 0.
+ */
+public class FastBootGyro {
+
+    public enum State { STARTING, CALIBRATING, READY, REFINING, FAILED }
+
+    // ADXRS450 and SPI accumulator settings, as in WPILib's ADXRS450_Gyro
+    private static final double SAMPLE_PERIOD = 0.0005; // s
+    private static final double DEGREES_PER_SECOND_PER_LSB = 0.0125;
+    private static final int CLOCK_RATE = 3_000_000; // Hz
+    private static final int PID_REGISTER = 0x0C;
+    private static final int PART_ID = 0x5200;
+
+    // Drift above this while refining means the robot was moved, not a bias error
+    private static final double MAX_REFINE_DRIFT = 1.0; // deg/s
+    private static final long REFINE_CHECK_MILLIS = 100;
+
+    private final SPI.Port port;
+    private final File biasFile;
+    private final double calibrationSeconds;
+    private final double refineSeconds;
+
+    // Set once the accumulator is running with a usable center
+    private volatile SPI spi;
+    private volatile State state = State.STARTING;
+    private volatile double center = Double.NaN; // accumulator center (LSB)
+    private volatile boolean fromStoredBias = false;
+    // Counts resets, so refinement can restart its measurement
+    private volatile int resets = 0;
+
+    /**
+     * @param biasFile Where the bias is stored between boots
+     * @param calibrationSeconds Length of a full calibration
+     * @param refineSeconds Length of the drift measurement after a fast boot, 0 to skip it
+     */
+    public FastBootGyro(SPI.Port port, File biasFile, double calibrationSeconds, double refineSeconds) {
+        this.port = port;
+        this.biasFile = biasFile;
+        this.calibrationSeconds = calibrationSeconds;
+        this.refineSeconds = refineSeconds;
+    }
+
+    /**
+     * Starts the calibration thread and returns right away
+     */
+    public void start() {
+        Thread thread = new Thread(this::run, "GyroCalibration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        long start = System.nanoTime();
+        try {
+            SPI opened = open();
+            if (opened == null) {
+                state = State.FAILED;
+                LoggingSystem.logError("Could not find the ADXRS450 gyro on SPI port " + port.value);
+                return;
+            }
+
+            double stored = loadBias();
+            if (!Double.isNaN(stored)) {
+                opened.setAccumulatorIntegratedCenter(stored);
+                opened.resetAccumulator();
+                center = stored;
+                fromStoredBias = true;
+                spi = opened;
+                state = State.READY;
+                LoggingSystem.logInfo("Gyro ready from stored bias in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+                if (refineSeconds > 0) {
+                    refine();
+                }
+            } else {
+                state = State.CALIBRATING;
+                LoggingSystem.logInfo("No stored gyro bias - calibrating, keep the robot still");
+                Thread.sleep(100);
+                opened.setAccumulatorIntegratedCenter(0);
+                opened.resetAccumulator();
+                Thread.sleep((long) (calibrationSeconds * 1000));
+                center = opened.getAccumulatorIntegratedAverage();
+                opened.setAccumulatorIntegratedCenter(center);
+                opened.resetAccumulator();
+                spi = opened;
+                state = State.READY;
+                LoggingSystem.logInfo("Gyro calibration complete in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+                saveBias();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            state = State.FAILED;
+            LoggingSystem.logError("Gyro startup failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Measures the drift with the stored bias while disabled and moves the center to cancel it
+     */
+    private void refine() throws InterruptedException {
+        state = State.REFINING;
+        int seenResets = resets;
+        double angleBefore = getAngle();
+        long start = System.nanoTime();
+        while (true) {
+            if (!DriverStation.getInstance().isDisabled()) {
+                state = State.READY;
+                LoggingSystem.logInfo("Gyro bias refinement skipped - the robot was enabled");
+                return;
+            }
+            if (resets != seenResets) {
+                // Measure again from the reset, e.g. odometry reset by disabledInit
+                seenResets = resets;
+                angleBefore = getAngle();
+                start = System.nanoTime();
+            }
+            if (System.nanoTime() - start >= (long) (refineSeconds * 1e9) && resets == seenResets) {
+                break;
+            }
+            Thread.sleep(REFINE_CHECK_MILLIS);
+        }
+        double drift = (getAngle() - angleBefore) / ((System.nanoTime() - start) / 1e9);
+        if (resets != seenResets) {
+            state = State.READY;
+            return;
+        }
+        if (Math.abs(drift) > MAX_REFINE_DRIFT) {
+            state = State.READY;
+            LoggingSystem.logWarn("Gyro drifted " + String.format("%.3f", drift) + " deg/s while refining - robot moved?");
+            return;
+        }
+
+        // Drift is the average of (sample - center), so the true center is that much higher
+        center += drift / DEGREES_PER_SECOND_PER_LSB;
+        spi.setAccumulatorIntegratedCenter(center);
+        state = State.READY;
+        LoggingSystem.logInfo("Gyro bias refined, drift was " + String.format("%.4f", drift) + " deg/s");
+        saveBias();
+    }
+
+    // ===== SPI =====
+
+    private SPI open() {
+        SPI opened = new SPI(port);
+        opened.setClockRate(CLOCK_RATE);
+        opened.setMSBFirst();
+        opened.setSampleDataOnLeadingEdge();
+        opened.setClockActiveHigh();
+        opened.setChipSelectActiveLow();
+        if ((readRegister(opened, PID_REGISTER) & 0xff00) != PART_ID) {
+            opened.close();
+            return null;
+        }
+        opened.initAccumulator(SAMPLE_PERIOD, 0x20000000, 4, 0x0c00000e, 0x04000000, 10, 16, true, true);
+        return opened;
+    }
+
+    private static int readRegister(SPI spi, int register) {
+        int command = 0x8000 | (register << 1);
+        ByteBuffer buffer = ByteBuffer.allocate(4).order(ByteOrder.BIG_ENDIAN);
+        buffer.put(0, (byte) (command >> 8));
+        buffer.put(1, (byte) (command & 0xff));
+        buffer.put(2, (byte) 0);
+        // Odd parity over the whole command
+        buffer.put(3, (byte) (Integer.bitCount(command) % 2 == 1 ? 0 : 1));
+        spi.write(buffer, 4);
+        spi.read(false, buffer, 4);
+        if ((buffer.get(0) & 0xe0) == 0) {
+            return 0;
+        }
+        return (buffer.getInt(0) >> 5) & 0xffff;
+    }
+
+    // ===== PERSISTENCE =====
+
+    private double loadBias() {
+        if (!biasFile.exists()) {
+            return Double.NaN;
+        }
+        Properties properties = new Properties();
+        try (Reader in = new FileReader(biasFile)) {
+            properties.load(in);
+            double stored = Double.parseDouble(properties.getProperty("center"));
+            return Double.isFinite(stored) ? stored : Double.NaN;
+        } catch (IOException | RuntimeException e) {
+            LoggingSystem.logWarn("Gyro bias file " + biasFile + " could not be read: " + e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    private void saveBias() {
+        Properties properties = new Properties();
+        properties.setProperty("center", Double.toString(center));
+        properties.setProperty("biasDegreesPerSecond", Double.toString(getBias()));
+        try (Writer out = new FileWriter(biasFile)) {
+            properties.store(out, "ADXRS450 accumulator center, written by FastBootGyro");
+        } catch (IOException e) {
+            LoggingSystem.logWarn("Gyro bias could not be saved to " + biasFile + ": " + e.getMessage());
+        }
+    }
+
+    // ===== READINGS =====
+
+    /**
+     * @return Angle since the last reset (degrees), clockwise positive, 0 until the gyro is ready
+     */
+    public double getAngle() {
+        SPI active = spi;
+        return active == null ? 0.0 : active.getAccumulatorIntegratedValue() * DEGREES_PER_SECOND_PER_LSB;
+    }
+
+    /**
+     * Zeroes the angle. Does nothing until the gyro is ready, the angle reads 0 until then anyway.
+     */
+    public void reset() {
+        SPI active = spi;
+        if (active != null) {
+            active.resetAccumulator();
+            resets++;
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isReady() {
+        return spi != null;
+    }
+
+    /**
+     * @return True if the gyro started from a stored bias instead of a full calibration
+     */
+    public boolean isFromStoredBias() {
+        return fromStoredBias;
+    }
+
+    /**
+     * @return Bias the gyro corrects for (deg/s), NaN before calibration
+     */
+    public double getBias() {
+        return center * DEGREES_PER_SECOND_PER_LSB;
+    }
+}
@@ -0,0 +1,57 @@
+package frc.robot.subsystems.drivetrain;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures time and heap allocation per ThreeWheelKinematics call.
+ * Runs on a desktop JVM or on the robot:
+ *
+ * <pre>
+ * java frc.robot.subsystems.drivetrain.KinematicsBenchmark [iterations]
+ * </pre>
+ */
+public class KinematicsBenchmark {
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            System.err.println("This JVM can't report per-thread allocation");
+            return;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        long threadId = Thread.currentThread().getId();
+
+        ThreeWheelKinematics kinematics = new ThreeWheelKinematics(0.05, 0.15);
+        double[] wheelSpeeds = new double[ThreeWheelKinematics.WHEEL_COUNT];
+        double[] chassisSpeeds = new double[3];
+
+        // Warm up so the measured loop runs compiled code
+        double checksum = run(kinematics, wheelSpeeds, chassisSpeeds, iterations / 10);
+
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        checksum += run(kinematics, wheelSpeeds, chassisSpeeds, iterations);
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        System.out.printf("%d iterations (inverse + desaturate + forward)%n", iterations);
+        System.out.printf("  %.1f ns per iteration%n", (double) elapsed / iterations);
+        System.out.printf("  %d bytes allocated in total, %.4f per iteration%n", bytes, (double) bytes / iterations);
+        System.out.printf("  checksum %.3f%n", checksum);
+    }
+
+    private static double run(ThreeWheelKinematics kinematics, double[] wheelSpeeds, double[] chassisSpeeds,
+            int iterations) {
+        double sum = 0.0;
+        for (int i = 0; i < iterations; i++) {
+            double t = i * 1e-4;
+            kinematics.toWheelSpeeds(Math.sin(t), Math.cos(t), 0.5 * Math.sin(3 * t), wheelSpeeds);
+            ThreeWheelKinematics.desaturate(wheelSpeeds, 0.5);
+            kinematics.toChassisSpeeds(wheelSpeeds, chassisSpeeds);
+            sum += chassisSpeeds[ThreeWheelKinematics.VX] + chassisSpeeds[ThreeWheelKinematics.OMEGA];
+        }
+        return sum;
+    }
+}
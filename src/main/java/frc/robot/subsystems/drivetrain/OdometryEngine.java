@@ -0,0 +1,191 @@
+package frc.robot.subsystems.drivetrain;
+
+import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Threads;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Integrates wheel encoders and the gyro into a field pose on its own thread.
+ *
+ * <p>A Notifier reads the three wheel distances and the gyro angle at a fixed
+ * rate. The wheel deltas go through the forward kinematics and are rotated
+ * into the field frame using the average heading over the tick. Every tick
+ * publishes a new immutable Pose through a volatile reference: the engine
+ * thread is the only writer, and readers get a consistent pose with one read
+ * and no locking. Every pose also goes into a PoseHistory, so delayed
+ * measurements can be matched with where the robot was when they were taken.
+ */
+public class OdometryEngine {
+
+    public static final double DEFAULT_PERIOD = 0.005; // seconds (200 Hz)
+
+    // Below the drivetrain control thread, above the main robot thread
+    private static final int REAL_TIME_PRIORITY = 35;
+
+    /**
+     * Source of accumulated wheel travel
+     */
+    public interface WheelDistances {
+        /**
+         * @param distances Receives the left, right and back wheel travel (m),
+         *        positive when the wheel drives the robot counterclockwise
+         */
+        void read(double[] distances);
+    }
+
+    private final ThreeWheelKinematics kinematics;
+    private final WheelDistances wheels;
+    private final DoubleSupplier gyroAngle;
+    private final double periodSeconds;
+    private final Notifier notifier;
+    private final PoseHistory history;
+
+    private volatile Pose pose = Pose.ORIGIN;
+    private volatile boolean running = false;
+    private volatile boolean resetRequested = false;
+
+    // Only touched on the engine thread, or by reset() while the engine is stopped
+    private final double[] distances = new double[ThreeWheelKinematics.WHEEL_COUNT];
+    private final double[] lastDistances = new double[ThreeWheelKinematics.WHEEL_COUNT];
+    private final double[] deltas = new double[ThreeWheelKinematics.WHEEL_COUNT];
+    private final double[] motion = new double[3];
+    private double x = 0.0;
+    private double y = 0.0;
+    private double lastAngle = 0.0;
+    private boolean priorityApplied = false;
+
+    private volatile long ticks = 0;
+
+    /**
+     * @param kinematics Wheel layout used to turn wheel travel into robot motion
+     * @param wheels Accumulated wheel travel
+     * @param gyroAngle Gyro angle (degrees), clockwise positive
+     * @param periodSeconds Integration period
+     * @param historySize Number of past poses kept
+     */
+    public OdometryEngine(ThreeWheelKinematics kinematics, WheelDistances wheels, DoubleSupplier gyroAngle,
+            double periodSeconds, int historySize) {
+        this.kinematics = kinematics;
+        this.wheels = wheels;
+        this.gyroAngle = gyroAngle;
+        this.periodSeconds = periodSeconds;
+        this.notifier = new Notifier(this::tick);
+        this.notifier.setName("OdometryEngine");
+        this.history = new PoseHistory(historySize);
+        resetState();
+    }
+
+    public void start() {
+        if (running) {
+            return;
+        }
+        resetRequested = true;
+        running = true;
+        notifier.startPeriodic(periodSeconds);
+        LoggingSystem.logInfo("Odometry engine started at " + Math.round(1.0 / periodSeconds) + " Hz");
+    }
+
+    public void stop() {
+        notifier.stop();
+        running = false;
+        LoggingSystem.logInfo("Odometry engine stopped");
+    }
+
+    /**
+     * Moves the pose back to the origin. Reset the gyro first, the engine
+     * takes the gyro angle at the time of the reset as it is.
+     */
+    public void reset() {
+        if (running) {
+            // Handled by the next tick, so only the engine thread ever writes the pose
+            resetRequested = true;
+        } else {
+            resetState();
+        }
+    }
+
+    private void resetState() {
+        wheels.read(lastDistances);
+        lastAngle = gyroAngle.getAsDouble();
+        x = 0.0;
+        y = 0.0;
+        long now = System.nanoTime();
+        // Poses from before the reset are in another frame
+        history.clear();
+        history.add(now, 0.0, 0.0, lastAngle);
+        pose = new Pose(0.0, 0.0, lastAngle, now);
+    }
+
+    private void tick() {
+        if (!priorityApplied) {
+            priorityApplied = true;
+            if (!Threads.setCurrentThreadPriority(true, REAL_TIME_PRIORITY)) {
+                LoggingSystem.logWarn("Odometry thread could not get real-time priority");
+            }
+        }
+
+        if (resetRequested) {
+            resetRequested = false;
+            resetState();
+            ticks++;
+            return;
+        }
+
+        wheels.read(distances);
+        double angle = gyroAngle.getAsDouble();
+        long now = System.nanoTime();
+        for (int wheel = 0; wheel < ThreeWheelKinematics.WHEEL_COUNT; wheel++) {
+            deltas[wheel] = distances[wheel] - lastDistances[wheel];
+            lastDistances[wheel] = distances[wheel];
+        }
+
+        // Forward kinematics is linear, so wheel travel gives robot-frame travel directly
+        kinematics.toChassisSpeeds(deltas, motion);
+        double dx = motion[ThreeWheelKinematics.VX];
+        double dy = motion[ThreeWheelKinematics.VY];
+
+        // Gyro angle is clockwise positive, the field frame is counterclockwise positive
+        double heading = Math.toRadians(-(lastAngle + angle) / 2);
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        x += dx * cos - dy * sin;
+        y += dx * sin + dy * cos;
+        lastAngle = angle;
+
+        history.add(now, x, y, angle);
+        pose = new Pose(x, y, angle, now);
+        ticks++;
+    }
+
+    // ===== READERS =====
+
+    /**
+     * @return Latest pose, safe to call from any thread
+     */
+    public Pose getPose() {
+        return pose;
+    }
+
+    /**
+     * @return Past poses, safe to read from any thread
+     */
+    public PoseHistory getHistory() {
+        return history;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public void publishStats() {
+        DashboardPublisher.putNumber("Odometry Ticks", ticks);
+    }
+}
@@ -0,0 +1,59 @@
+package frc.robot.subsystems.drivetrain;
+
+/**
+ * Robot position on the field at one moment, immutable once created.
+ *
+ * <p>x and y are in meters from where odometry was last reset, x forward
+ * and y left of the starting heading. The angle is the gyro angle in
+ * degrees, clockwise positive, as shown on the dashboard.
+ */
+public final class Pose {
+
+    public static final Pose ORIGIN = new Pose(0.0, 0.0, 0.0, 0);
+
+    private final double x;
+    private final double y;
+    private final double angle;
+    private final long timestampNanos;
+
+    /**
+     * @param x Field x (m)
+     * @param y Field y (m)
+     * @param angle Gyro angle (degrees), clockwise positive
+     * @param timestampNanos System.nanoTime() when the pose was measured
+     */
+    public Pose(double x, double y, double angle, long timestampNanos) {
+        this.x = x;
+        this.y = y;
+        this.angle = angle;
+        this.timestampNanos = timestampNanos;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getAngle() {
+        return angle;
+    }
+
+    /**
+     * @return Heading in the field frame (rad), counterclockwise positive
+     */
+    public double getHeadingRadians() {
+        return Math.toRadians(-angle);
+    }
+
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Pose(%.3f m, %.3f m, %.1f deg)", x, y, angle);
+    }
+}
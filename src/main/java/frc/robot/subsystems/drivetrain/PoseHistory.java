@@ -0,0 +1,141 @@
+package frc.robot.subsystems.drivetrain;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * Fixed-capacity ring of timestamped poses, for looking up where the robot was in the past.
+ *
+ * <p>Entries are stored in parallel primitive arrays in time order, so a
+ * lookup is a binary search and a lerp between the two neighbouring
+ * entries. Like SetpointSlot, a sequence lock keeps it lock-free: one thread
+ * adds entries, and readers on any thread retry if an add happened while
+ * they were searching.
+ */
+public class PoseHistory {
+
+    // Indices in sample arrays
+    public static final int X = 0;
+    public static final int Y = 1;
+    public static final int ANGLE = 2;
+
+    private final int mask;
+    private final long[] timestamps;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] angles;
+
+    private volatile long sequence = 0;
+    // Number of entries ever added since the last clear
+    private long count = 0;
+
+    /**
+     * @param capacity Number of poses kept, rounded up to a power of two
+     */
+    public PoseHistory(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        mask = size - 1;
+        timestamps = new long[size];
+        xs = new double[size];
+        ys = new double[size];
+        angles = new double[size];
+    }
+
+    // ===== WRITER =====
+
+    /**
+     * Adds a pose, called from the writing thread only. Timestamps must not go backwards.
+     */
+    public void add(long timestampNanos, double x, double y, double angle) {
+        long next = sequence + 1;
+        sequence = next;
+        VarHandle.storeStoreFence();
+        int index = (int) (count & mask);
+        timestamps[index] = timestampNanos;
+        xs[index] = x;
+        ys[index] = y;
+        angles[index] = angle;
+        count++;
+        sequence = next + 1;
+    }
+
+    /**
+     * Forgets all poses, e.g. after an odometry reset. Called from the writing thread only.
+     */
+    public void clear() {
+        long next = sequence + 1;
+        sequence = next;
+        VarHandle.storeStoreFence();
+        count = 0;
+        sequence = next + 1;
+    }
+
+    // ===== READERS =====
+
+    /**
+     * Finds the pose at a past time, interpolated between the recorded poses around it.
+     * Times after the newest pose give the newest pose.
+     * @param timestampNanos System.nanoTime() of the moment to look up
+     * @param out Receives {x, y, angle}
+     * @return False if the time is older than the history or nothing was recorded
+     */
+    public boolean sample(long timestampNanos, double[] out) {
+        while (true) {
+            long before = sequence;
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            boolean found = search(timestampNanos, out);
+            VarHandle.loadLoadFence();
+            if (sequence == before) {
+                return found;
+            }
+        }
+    }
+
+    private boolean search(long timestampNanos, double[] out) {
+        long newest = count - 1;
+        long oldest = Math.max(0, count - timestamps.length);
+        if (newest < 0 || timestampNanos < timestamps[(int) (oldest & mask)]) {
+            return false;
+        }
+
+        // Last entry at or before the requested time
+        long low = oldest;
+        long high = newest;
+        while (low < high) {
+            long middle = (low + high + 1) >>> 1;
+            if (timestamps[(int) (middle & mask)] <= timestampNanos) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        int a = (int) (low & mask);
+        if (low == newest) {
+            out[X] = xs[a];
+            out[Y] = ys[a];
+            out[ANGLE] = angles[a];
+            return true;
+        }
+        int b = (int) ((low + 1) & mask);
+        long span = timestamps[b] - timestamps[a];
+        double t = span > 0 ? (double) (timestampNanos - timestamps[a]) / span : 0.0;
+        out[X] = xs[a] + (xs[b] - xs[a]) * t;
+        out[Y] = ys[a] + (ys[b] - ys[a]) * t;
+        out[ANGLE] = angles[a] + (angles[b] - angles[a]) * t;
+        return true;
+    }
+
+    /**
+     * @return Number of poses currently held
+     */
+    public int size() {
+        return (int) Math.min(count, timestamps.length);
+    }
+
+    public int getCapacity() {
+        return timestamps.length;
+    }
+}
@@ -0,0 +1,59 @@
+package frc.robot.subsystems.drivetrain;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * Lock-free handoff of a velocity setpoint from the robot loop to the control thread.
+ *
+ * <p>A sequence lock: the writer makes the sequence odd while it updates the
+ * values and even again when done. A reader retries if the sequence was odd
+ * or changed while it was reading, so it never sees a half-written setpoint
+ * and neither side ever blocks. Only one thread may write.
+ */
+public class SetpointSlot {
+
+    private volatile long sequence = 0;
+    private double vx;
+    private double vy;
+    private double omega;
+    private long timestampNanos;
+
+    /**
+     * Publishes a new setpoint, called from the writing thread only
+     */
+    public void set(double vx, double vy, double omega) {
+        long next = sequence + 1;
+        sequence = next;
+        VarHandle.storeStoreFence();
+        this.vx = vx;
+        this.vy = vy;
+        this.omega = omega;
+        this.timestampNanos = System.nanoTime();
+        sequence = next + 1;
+    }
+
+    /**
+     * Copies the latest setpoint into out as {vx, vy, omega}
+     * @return Time the setpoint was set (System.nanoTime), 0 if never set
+     */
+    public long get(double[] out) {
+        while (true) {
+            long before = sequence;
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            double readVx = vx;
+            double readVy = vy;
+            double readOmega = omega;
+            long readTime = timestampNanos;
+            VarHandle.loadLoadFence();
+            if (sequence == before) {
+                out[0] = readVx;
+                out[1] = readVy;
+                out[2] = readOmega;
+                return readTime;
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package frc.robot.subsystems.drivetrain;
+
+/**
+ * Kinematics of a three-wheel omni base with wheels 120 degrees apart.
+ *
+ * <p>x points forward, y left, omega counterclockwise. The left and right
+ * wheels sit at +60 and -60 degrees around the center and the back wheel
+ * at 180 degrees; each wheel drives tangentially, positive counterclockwise.
+ * Wheel speeds are surface speeds in m/s. The matrices are computed once,
+ * conversions only fill caller-provided arrays and never allocate.
+ */
+public class ThreeWheelKinematics {
+
+    // Wheel indices in speed arrays
+    public static final int LEFT = 0;
+    public static final int RIGHT = 1;
+    public static final int BACK = 2;
+    public static final int WHEEL_COUNT = 3;
+
+    // Chassis indices in speed arrays
+    public static final int VX = 0;
+    public static final int VY = 1;
+    public static final int OMEGA = 2;
+
+    private static final double[] WHEEL_POSITION_DEGREES = { 60.0, -60.0, 180.0 };
+
+    private final double wheelRadius;
+
+    // Row-major 3x3 matrices: wheel speeds = inverse * chassis, chassis = forward * wheel speeds
+    private final double[] inverse = new double[9];
+    private final double[] forward = new double[9];
+
+    /**
+     * @param wheelRadius Wheel radius (m)
+     * @param robotRadius Distance from the center to each wheel (m)
+     */
+    public ThreeWheelKinematics(double wheelRadius, double robotRadius) {
+        this.wheelRadius = wheelRadius;
+        for (int wheel = 0; wheel < WHEEL_COUNT; wheel++) {
+            double angle = Math.toRadians(WHEEL_POSITION_DEGREES[wheel]);
+            inverse[wheel * 3] = -Math.sin(angle);
+            inverse[wheel * 3 + 1] = Math.cos(angle);
+            inverse[wheel * 3 + 2] = robotRadius;
+        }
+        invert(inverse, forward);
+    }
+
+    // ===== CONVERSIONS =====
+
+    /**
+     * Inverse kinematics: chassis speeds to wheel surface speeds
+     * @param wheelSpeeds Receives the left, right and back wheel speeds (m/s)
+     */
+    public void toWheelSpeeds(double vx, double vy, double omega, double[] wheelSpeeds) {
+        for (int wheel = 0; wheel < WHEEL_COUNT; wheel++) {
+            wheelSpeeds[wheel] = inverse[wheel * 3] * vx + inverse[wheel * 3 + 1] * vy + inverse[wheel * 3 + 2] * omega;
+        }
+    }
+
+    /**
+     * Forward kinematics: wheel surface speeds to chassis speeds
+     * @param chassisSpeeds Receives vx (m/s), vy (m/s) and omega (rad/s)
+     */
+    public void toChassisSpeeds(double[] wheelSpeeds, double[] chassisSpeeds) {
+        double left = wheelSpeeds[LEFT];
+        double right = wheelSpeeds[RIGHT];
+        double back = wheelSpeeds[BACK];
+        for (int row = 0; row < 3; row++) {
+            chassisSpeeds[row] = forward[row * 3] * left + forward[row * 3 + 1] * right + forward[row * 3 + 2] * back;
+        }
+    }
+
+    /**
+     * Scales all wheel speeds down together so none exceeds the maximum, keeping the direction of motion
+     * @return Scale factor applied, 1.0 if nothing was saturated
+     */
+    public static double desaturate(double[] wheelSpeeds, double maxSpeed) {
+        double largest = 0.0;
+        for (int wheel = 0; wheel < WHEEL_COUNT; wheel++) {
+            largest = Math.max(largest, Math.abs(wheelSpeeds[wheel]));
+        }
+        if (largest <= maxSpeed) {
+            return 1.0;
+        }
+        double scale = maxSpeed / largest;
+        for (int wheel = 0; wheel < WHEEL_COUNT; wheel++) {
+            wheelSpeeds[wheel] *= scale;
+        }
+        return scale;
+    }
+
+    /**
+     * @return Wheel angular speed (rad/s) for a surface speed (m/s)
+     */
+    public double toWheelAngularSpeed(double surfaceSpeed) {
+        return surfaceSpeed / wheelRadius;
+    }
+
+    private static void invert(double[] m, double[] result) {
+        double c00 = m[4] * m[8] - m[5] * m[7];
+        double c01 = m[5] * m[6] - m[3] * m[8];
+        double c02 = m[3] * m[7] - m[4] * m[6];
+        double determinant = m[0] * c00 + m[1] * c01 + m[2] * c02;
+        if (Math.abs(determinant) < 1e-12) {
+            throw new IllegalArgumentException("Wheel layout has no inverse, check the robot radius");
+        }
+        double inv = 1.0 / determinant;
+        result[0] = c00 * inv;
+        result[1] = (m[2] * m[7] - m[1] * m[8]) * inv;
+        result[2] = (m[1] * m[5] - m[2] * m[4]) * inv;
+        result[3] = c01 * inv;
+        result[4] = (m[0] * m[8] - m[2] * m[6]) * inv;
+        result[5] = (m[2] * m[3] - m[0] * m[5]) * inv;
+        result[6] = c02 * inv;
+        result[7] = (m[1] * m[6] - m[0] * m[7]) * inv;
+        result[8] = (m[0] * m[4] - m[1] * m[3]) * inv;
+    }
+}
@@ -0,0 +1,103 @@
+package frc.robot.subsystems.drivetrain.trajectory;
+
+/**
+ * Time-parameterized route for the holonomic base, immutable once built.
+ *
+ * <p>States are stored column-wise in float arrays, one entry per state:
+ * time, field position, gyro angle and the field-frame velocities. x and y
+ * follow the odometry frame, angles are gyro degrees (clockwise positive)
+ * and omega is rad/s counterclockwise, as DrivetrainSubsystem.drive expects.
+ */
+public class Trajectory {
+
+    // Indices in sample arrays
+    public static final int X = 0;
+    public static final int Y = 1;
+    public static final int ANGLE = 2;
+    public static final int VX = 3;
+    public static final int VY = 4;
+    public static final int OMEGA = 5;
+    public static final int SAMPLE_SIZE = 6;
+
+    final float[] times;
+    final float[][] values; // [field][state], fields indexed like samples
+
+    /**
+     * Takes ownership of the arrays
+     * @param times State times (s), starting at 0 and increasing
+     * @param values One array per sample field, each as long as times
+     */
+    Trajectory(float[] times, float[][] values) {
+        if (values.length != SAMPLE_SIZE) {
+            throw new IllegalArgumentException("A trajectory needs " + SAMPLE_SIZE + " value arrays");
+        }
+        for (float[] field : values) {
+            if (field.length != times.length) {
+                throw new IllegalArgumentException("Trajectory arrays differ in length");
+            }
+        }
+        if (times.length < 2) {
+            throw new IllegalArgumentException("A trajectory needs at least two states");
+        }
+        this.times = times;
+        this.values = values;
+    }
+
+    /**
+     * Interpolates the state at a time, clamped to the start and end
+     * @param time Seconds since the trajectory started
+     * @param out Receives the SAMPLE_SIZE values
+     */
+    public void sample(double time, double[] out) {
+        int last = times.length - 1;
+        if (time <= 0) {
+            copy(0, out);
+            return;
+        }
+        if (time >= times[last]) {
+            copy(last, out);
+            // Nothing moves once the trajectory is over
+            out[VX] = 0.0;
+            out[VY] = 0.0;
+            out[OMEGA] = 0.0;
+            return;
+        }
+
+        // Last state at or before the time
+        int low = 0;
+        int high = last;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (times[middle] <= time) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        double span = times[low + 1] - times[low];
+        double t = span > 0 ? (time - times[low]) / span : 0.0;
+        for (int field = 0; field < SAMPLE_SIZE; field++) {
+            float[] column = values[field];
+            out[field] = column[low] + (column[low + 1] - column[low]) * t;
+        }
+    }
+
+    private void copy(int state, double[] out) {
+        for (int field = 0; field < SAMPLE_SIZE; field++) {
+            out[field] = values[field][state];
+        }
+    }
+
+    // ===== INFORMATION =====
+
+    /**
+     * @return Time to drive the whole trajectory (s)
+     */
+    public double getDuration() {
+        return times[times.length - 1];
+    }
+
+    public int getStateCount() {
+        return times.length;
+    }
+}
@@ -0,0 +1,150 @@
+package frc.robot.subsystems.drivetrain.trajectory;
+
+import edu.wpi.first.wpilibj.Filesystem;
+import frc.robot.constants.Constants;
+import frc.robot.utilities.logger.LoggingSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary cache of generated trajectories in deploy/trajectories.
+ *
+ * <p>Each file holds one trajectory: a header with the fingerprint of the
+ * waypoints and limits it was generated from, then the state columns as
+ * little-endian floats. A file whose fingerprint doesn't match is stale
+ * and the trajectory is generated again. Run main() on a desktop to fill
+ * src/main/deploy/trajectories before deploying.
+ */
+public class TrajectoryCache {
+
+    public static final String DIRECTORY = "trajectories";
+    public static final String FILE_SUFFIX = ".traj";
+
+    // ===== FILE FORMAT =====
+    public static final int MAGIC = 0x54524A31; // "TRJ1"
+    public static final short VERSION = 1;
+
+    // Header: magic, version, fingerprint, state count
+    static final int HEADER_SIZE = 4 + 2 + 8 + 4;
+
+    private TrajectoryCache() {
+    }
+
+    /**
+     * Reads a trajectory from the cache, or generates it and writes the cache
+     * @param name File name without suffix
+     * @param waypoints {x, y, angle} per waypoint, as for TrajectoryGenerator
+     */
+    public static Trajectory load(String name, double[][] waypoints, TrajectoryGenerator generator) {
+        File file = getFile(name);
+        long fingerprint = generator.fingerprint(waypoints);
+        if (file.exists()) {
+            try {
+                Trajectory cached = read(file, fingerprint);
+                if (cached != null) {
+                    LoggingSystem.logInfo("Loaded trajectory " + name + " from cache (" + cached.getStateCount()
+                            + " states, " + String.format("%.1f", cached.getDuration()) + " s)");
+                    return cached;
+                }
+                LoggingSystem.logWarn("Trajectory cache for " + name + " is stale - generating again");
+            } catch (IOException | RuntimeException e) {
+                LoggingSystem.logError("Trajectory cache " + file + " could not be read: " + e.getMessage());
+            }
+        }
+
+        long start = System.nanoTime();
+        Trajectory trajectory = generator.generate(waypoints);
+        LoggingSystem.logInfo("Generated trajectory " + name + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        try {
+            write(file, fingerprint, trajectory);
+        } catch (IOException e) {
+            LoggingSystem.logWarn("Trajectory cache " + file + " could not be written: " + e.getMessage());
+        }
+        return trajectory;
+    }
+
+    public static File getFile(String name) {
+        return new File(new File(Filesystem.getDeployDirectory(), DIRECTORY), name + FILE_SUFFIX);
+    }
+
+    // ===== FILE ACCESS =====
+
+    /**
+     * @return The cached trajectory, null if it was generated from other inputs
+     */
+    static Trajectory read(File file, long fingerprint) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a trajectory file");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION || buffer.getLong() != fingerprint) {
+            return null;
+        }
+        int stateCount = buffer.getInt();
+        if (stateCount < 2 || buffer.remaining() != (long) stateCount * (Trajectory.SAMPLE_SIZE + 1) * 4) {
+            throw new IOException("Trajectory file is truncated");
+        }
+        float[] times = new float[stateCount];
+        buffer.asFloatBuffer().get(times);
+        buffer.position(buffer.position() + stateCount * 4);
+        float[][] values = new float[Trajectory.SAMPLE_SIZE][stateCount];
+        for (float[] column : values) {
+            buffer.asFloatBuffer().get(column);
+            buffer.position(buffer.position() + stateCount * 4);
+        }
+        return new Trajectory(times, values);
+    }
+
+    static void write(File file, long fingerprint, Trajectory trajectory) throws IOException {
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        int stateCount = trajectory.getStateCount();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + stateCount * (Trajectory.SAMPLE_SIZE + 1) * 4)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putLong(fingerprint);
+        buffer.putInt(stateCount);
+        for (float time : trajectory.times) {
+            buffer.putFloat(time);
+        }
+        for (float[] column : trajectory.values) {
+            for (float value : column) {
+                buffer.putFloat(value);
+            }
+        }
+        buffer.flip();
+
+        // Write next to the old file and move it over, so a reader never sees half a file
+        File temporary = new File(directory, file.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        if (!temporary.renameTo(file) && !(file.delete() && temporary.renameTo(file))) {
+            throw new IOException("Could not replace " + file);
+        }
+    }
+
+    /**
+     * Generates the autonomous trajectories into the deploy directory
+     */
+    public static void main(String[] args) {
+        TrajectoryGenerator generator = new TrajectoryGenerator(Constants.MAX_DRIVE_SPEED,
+                Constants.MAX_DRIVE_ACCELERATION, Constants.MAX_ROTATION_SPEED);
+        Trajectory trajectory = load(Constants.AUTONOMOUS_ROUTE_NAME, Constants.AUTONOMOUS_ROUTE, generator);
+        System.out.println(getFile(Constants.AUTONOMOUS_ROUTE_NAME) + ": " + trajectory.getStateCount()
+                + " states, " + trajectory.getDuration() + " s");
+    }
+}
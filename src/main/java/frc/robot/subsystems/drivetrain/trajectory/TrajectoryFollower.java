@@ -0,0 +1,92 @@
+package frc.robot.subsystems.drivetrain.trajectory;
+
+import frc.robot.constants.Constants;
+import frc.robot.subsystems.DrivetrainSubsystem;
+import frc.robot.subsystems.drivetrain.Pose;
+import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
+
+/**
+ * Drives the holonomic base along a trajectory.
+ *
+ * <p>Each update samples the trajectory at the elapsed time and commands its
+ * field velocity plus a proportional correction towards the sampled
+ * position and angle, rotated into the robot frame with the odometry
+ * heading. Trajectories are in the odometry frame, so reset odometry at the
+ * trajectory's first waypoint before starting.
+ */
+public class TrajectoryFollower {
+
+    // Extra time allowed to settle on the end position (s)
+    private static final double SETTLE_TIME = 1.0;
+
+    private final double[] state = new double[Trajectory.SAMPLE_SIZE];
+    private Trajectory trajectory;
+    private long startNanos;
+    private boolean active = false;
+
+    /**
+     * Starts following a trajectory from its beginning
+     */
+    public void start(Trajectory trajectory) {
+        this.trajectory = trajectory;
+        this.startNanos = System.nanoTime();
+        this.active = true;
+        LoggingSystem.logInfo("Following trajectory (" + String.format("%.1f", trajectory.getDuration()) + " s)");
+    }
+
+    /**
+     * Stops following and stops the drivetrain
+     */
+    public void stop() {
+        if (active) {
+            active = false;
+            DrivetrainSubsystem.stop();
+            LoggingSystem.logInfo("Trajectory stopped");
+        }
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Commands the drivetrain for the current point of the trajectory, call once per robot loop
+     */
+    public void update() {
+        DashboardPublisher.putBoolean("Trajectory Following", active);
+        if (!active) {
+            return;
+        }
+
+        double elapsed = (System.nanoTime() - startNanos) / 1e9;
+        trajectory.sample(elapsed, state);
+        Pose pose = DrivetrainSubsystem.getPose();
+
+        double errorX = state[Trajectory.X] - pose.getX();
+        double errorY = state[Trajectory.Y] - pose.getY();
+        double error = Math.hypot(errorX, errorY);
+        DashboardPublisher.putNumber("Trajectory Error (m)", error);
+
+        double duration = trajectory.getDuration();
+        if (elapsed >= duration && (error <= Constants.TRAJECTORY_TOLERANCE || elapsed >= duration + SETTLE_TIME)) {
+            active = false;
+            DrivetrainSubsystem.stop();
+            LoggingSystem.logInfo("Trajectory complete, " + String.format("%.3f", error) + " m from the end");
+            return;
+        }
+
+        // Field-frame velocity with position correction
+        double fieldVx = state[Trajectory.VX] + Constants.TRAJECTORY_POSITION_GAIN * errorX;
+        double fieldVy = state[Trajectory.VY] + Constants.TRAJECTORY_POSITION_GAIN * errorY;
+        // Gyro degrees are clockwise positive, omega is counterclockwise positive
+        double angleError = state[Trajectory.ANGLE] - pose.getAngle();
+        double omega = state[Trajectory.OMEGA] - Constants.TRAJECTORY_ANGLE_GAIN * Math.toRadians(angleError);
+
+        // Field frame to robot frame
+        double heading = pose.getHeadingRadians();
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        DrivetrainSubsystem.drive(fieldVx * cos + fieldVy * sin, -fieldVx * sin + fieldVy * cos, omega);
+    }
+}
@@ -0,0 +1,183 @@
+package frc.robot.subsystems.drivetrain.trajectory;
+
+/**
+ * Builds trajectories through waypoints for the holonomic base.
+ *
+ * <p>The path is a Catmull-Rom spline through the waypoint positions,
+ * resampled at a fixed distance step. The gyro angle changes linearly
+ * with distance along each segment, independent of the direction of
+ * travel. The speed along the path is limited by the maximum drive speed,
+ * by how fast the robot may rotate, and by the acceleration, with forward
+ * and backward passes so the robot starts and stops at rest.
+ */
+public class TrajectoryGenerator {
+
+    // Indices in waypoint arrays
+    public static final int X = 0;
+    public static final int Y = 1;
+    public static final int ANGLE = 2;
+
+    // Distance between trajectory states (m)
+    private static final double STEP = 0.01;
+    // Points per spline segment when measuring its length
+    private static final int SAMPLES_PER_SEGMENT = 200;
+    // Waypoints closer than this can't be profiled over distance
+    private static final double MIN_SEGMENT_LENGTH = 0.001;
+
+    private final double maxVelocity;
+    private final double maxAcceleration;
+    private final double maxRotationSpeed;
+
+    /**
+     * @param maxVelocity Drive speed limit (m/s)
+     * @param maxAcceleration Drive acceleration limit (m/s^2)
+     * @param maxRotationSpeed Rotation speed limit (rad/s)
+     */
+    public TrajectoryGenerator(double maxVelocity, double maxAcceleration, double maxRotationSpeed) {
+        this.maxVelocity = maxVelocity;
+        this.maxAcceleration = maxAcceleration;
+        this.maxRotationSpeed = maxRotationSpeed;
+    }
+
+    /**
+     * @param waypoints {x (m), y (m), gyro angle (degrees)} per waypoint, at least two
+     */
+    public Trajectory generate(double[][] waypoints) {
+        int count = waypoints.length;
+        if (count < 2) {
+            throw new IllegalArgumentException("A trajectory needs at least two waypoints");
+        }
+
+        // Catmull-Rom tangents, one-sided at the ends
+        double[] tangentX = new double[count];
+        double[] tangentY = new double[count];
+        for (int i = 0; i < count; i++) {
+            int before = Math.max(0, i - 1);
+            int after = Math.min(count - 1, i + 1);
+            double scale = (after - before) == 2 ? 0.5 : 1.0;
+            tangentX[i] = (waypoints[after][X] - waypoints[before][X]) * scale;
+            tangentY[i] = (waypoints[after][Y] - waypoints[before][Y]) * scale;
+        }
+
+        // Arc length table over all segments
+        int denseCount = (count - 1) * SAMPLES_PER_SEGMENT + 1;
+        double[] denseX = new double[denseCount];
+        double[] denseY = new double[denseCount];
+        double[] denseS = new double[denseCount];
+        double[] segmentStart = new double[count];
+        for (int segment = 0; segment < count - 1; segment++) {
+            for (int k = (segment == 0 ? 0 : 1); k <= SAMPLES_PER_SEGMENT; k++) {
+                int index = segment * SAMPLES_PER_SEGMENT + k;
+                double u = (double) k / SAMPLES_PER_SEGMENT;
+                denseX[index] = hermite(waypoints[segment][X], tangentX[segment],
+                        waypoints[segment + 1][X], tangentX[segment + 1], u);
+                denseY[index] = hermite(waypoints[segment][Y], tangentY[segment],
+                        waypoints[segment + 1][Y], tangentY[segment + 1], u);
+                if (index > 0) {
+                    denseS[index] = denseS[index - 1]
+                            + Math.hypot(denseX[index] - denseX[index - 1], denseY[index] - denseY[index - 1]);
+                }
+            }
+            segmentStart[segment + 1] = denseS[(segment + 1) * SAMPLES_PER_SEGMENT];
+            if (segmentStart[segment + 1] - segmentStart[segment] < MIN_SEGMENT_LENGTH) {
+                throw new IllegalArgumentException("Waypoints " + segment + " and " + (segment + 1) + " are too close together");
+            }
+        }
+        double length = denseS[denseCount - 1];
+
+        // Resample at a fixed distance step
+        int stateCount = (int) Math.ceil(length / STEP) + 1;
+        double[] s = new double[stateCount];
+        double[] x = new double[stateCount];
+        double[] y = new double[stateCount];
+        double[] angle = new double[stateCount];
+        double[] angleRate = new double[stateCount]; // gyro degrees per meter
+        int dense = 0;
+        int segment = 0;
+        for (int i = 0; i < stateCount; i++) {
+            s[i] = Math.min(i * STEP, length);
+            while (dense < denseCount - 2 && denseS[dense + 1] < s[i]) {
+                dense++;
+            }
+            double span = denseS[dense + 1] - denseS[dense];
+            double t = span > 0 ? (s[i] - denseS[dense]) / span : 0.0;
+            x[i] = denseX[dense] + (denseX[dense + 1] - denseX[dense]) * t;
+            y[i] = denseY[dense] + (denseY[dense + 1] - denseY[dense]) * t;
+
+            while (segment < count - 2 && segmentStart[segment + 1] <= s[i]) {
+                segment++;
+            }
+            double segmentLength = segmentStart[segment + 1] - segmentStart[segment];
+            angleRate[i] = (waypoints[segment + 1][ANGLE] - waypoints[segment][ANGLE]) / segmentLength;
+            angle[i] = waypoints[segment][ANGLE] + angleRate[i] * (s[i] - segmentStart[segment]);
+        }
+
+        // Speed limits, then acceleration limits forwards and backwards
+        double[] v = new double[stateCount];
+        for (int i = 0; i < stateCount; i++) {
+            double turn = Math.abs(Math.toRadians(angleRate[i]));
+            v[i] = turn > 0 ? Math.min(maxVelocity, maxRotationSpeed / turn) : maxVelocity;
+        }
+        v[0] = 0.0;
+        v[stateCount - 1] = 0.0;
+        for (int i = 1; i < stateCount; i++) {
+            v[i] = Math.min(v[i], Math.sqrt(v[i - 1] * v[i - 1] + 2 * maxAcceleration * (s[i] - s[i - 1])));
+        }
+        for (int i = stateCount - 2; i >= 0; i--) {
+            v[i] = Math.min(v[i], Math.sqrt(v[i + 1] * v[i + 1] + 2 * maxAcceleration * (s[i + 1] - s[i])));
+        }
+
+        // Times and field velocities
+        float[] times = new float[stateCount];
+        float[][] values = new float[Trajectory.SAMPLE_SIZE][stateCount];
+        double time = 0.0;
+        for (int i = 0; i < stateCount; i++) {
+            if (i > 0) {
+                double average = (v[i - 1] + v[i]) / 2;
+                time += average > 0 ? (s[i] - s[i - 1]) / average : 0.0;
+            }
+            int before = Math.max(0, i - 1);
+            int after = Math.min(stateCount - 1, i + 1);
+            double dx = x[after] - x[before];
+            double dy = y[after] - y[before];
+            double norm = Math.hypot(dx, dy);
+
+            times[i] = (float) time;
+            values[Trajectory.X][i] = (float) x[i];
+            values[Trajectory.Y][i] = (float) y[i];
+            values[Trajectory.ANGLE][i] = (float) angle[i];
+            values[Trajectory.VX][i] = norm > 0 ? (float) (v[i] * dx / norm) : 0f;
+            values[Trajectory.VY][i] = norm > 0 ? (float) (v[i] * dy / norm) : 0f;
+            // Gyro degrees are clockwise positive, omega is counterclockwise positive
+            values[Trajectory.OMEGA][i] = (float) (-Math.toRadians(angleRate[i]) * v[i]);
+        }
+        return new Trajectory(times, values);
+    }
+
+    private static double hermite(double p0, double m0, double p1, double m1, double u) {
+        double u2 = u * u;
+        double u3 = u2 * u;
+        return (2 * u3 - 3 * u2 + 1) * p0 + (u3 - 2 * u2 + u) * m0 + (-2 * u3 + 3 * u2) * p1 + (u3 - u2) * m1;
+    }
+
+    /**
+     * @return Hash of the waypoints and limits, changes whenever the generated trajectory would
+     */
+    public long fingerprint(double[][] waypoints) {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, maxVelocity);
+        hash = mix(hash, maxAcceleration);
+        hash = mix(hash, maxRotationSpeed);
+        hash = mix(hash, STEP);
+        for (double[] waypoint : waypoints) {
+            for (double value : waypoint) {
+                hash = mix(hash, value);
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, double value) {
+        return (hash ^ Double.doubleToLongBits(value)) * 0x100000001b3L;
+    }
+}
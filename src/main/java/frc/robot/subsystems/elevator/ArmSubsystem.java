@@ -1,19 +1,42 @@
 package frc.robot.subsystems.elevator;
 
-import edu.wpi.first.wpilibj.Servo;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.constants.Constants;
+import frc.robot.utilities.servo.ServoBank;
+import frc.robot.utilities.servo.ServoCalibration;
+import frc.robot.utilities.servo.TrapezoidalProfile;
+import frc.robot.subsystems.PeriodicSubsystem;
 import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.logger.RateLimitedLog;
+import frc.robot.utilities.telemetry.TelemetryLog;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
 
-public class ArmSubsystem {
-    private Servo servo;
+public class ArmSubsystem implements PeriodicSubsystem {
+    // Slot in the shared servo bank, written once per loop
+    private int servoSlot = ServoBank.NO_SLOT;
     
     // Servo position settings
     private final double SERVO_INCREMENT = 0.05;
     private double servoPosition = 0.5; // Start at middle position
+
+    // Smooths moves to the target, stepped in periodic()
+    private final TrapezoidalProfile profile =
+            new TrapezoidalProfile(Constants.ARM_MAX_VELOCITY, Constants.ARM_MAX_ACCELERATION, servoPosition);
     
     // Servo port
     private final int SERVO_PORT;
 
+    // Arm angle (degrees) to servo command
+    private final ServoCalibration calibration = ServoCalibration.load("arm", Constants.ARM_ANGLE_AT_MIN, Constants.ARM_ANGLE_AT_MAX);
+
+    // Position logs are rate limited since the bumpers can be mashed
+    private final RateLimitedLog increaseLog = new RateLimitedLog(250);
+    private final RateLimitedLog decreaseLog = new RateLimitedLog(250);
+
+    // Telemetry channels
+    private int positionChannel = -1;
+    private int rawValueChannel = -1;
+    private int velocityChannel = -1;
+
     /**
      * Constructs an ArmSubsystem with the specified servo port
      * @param servoPort The PWM port the servo is connected to
@@ -23,16 +46,12 @@ public class ArmSubsystem {
         
         try {
             // Initialize servo
-            servo = new Servo(SERVO_PORT);
+            servoSlot = ServoBank.register(SERVO_PORT);
             LoggingSystem.logInfo("Servo initialized on port " + SERVO_PORT);
             
-            // Test servo movement
-            servo.set(0.0);
-            LoggingSystem.logInfo("Servo set to position 0.0");
-            servo.set(1.0);
-            LoggingSystem.logInfo("Servo set to position 1.0");
-            servo.set(0.5);
-            LoggingSystem.logInfo("Servo set to position 0.5");
+            // The bank writes the slot once per loop, so only the last command here would reach the servo
+            ServoBank.set(servoSlot, servoPosition);
+            LoggingSystem.logInfo("Servo set to position " + servoPosition);
         } catch (Exception e) {
             LoggingSystem.logError("Servo initialization failed: " + e.getMessage());
         }
@@ -43,8 +62,8 @@ public class ArmSubsystem {
      */
     public void initializeToMiddle() {
         servoPosition = 0.5;
-        servo.set(servoPosition);
-        SmartDashboard.putNumber("Servo Position", servoPosition);
+        profile.setTarget(servoPosition);
+        DashboardPublisher.putNumber("Servo Position", servoPosition);
         LoggingSystem.logInfo("Servo initialized to position: " + servoPosition);
     }
     
@@ -53,8 +72,8 @@ public class ArmSubsystem {
      */
     public void increasePosition() {
         servoPosition = Math.min(1.0, servoPosition + SERVO_INCREMENT);
-        servo.set(servoPosition);
-        LoggingSystem.logInfo("Servo position increased to: " + servoPosition);
+        profile.setTarget(servoPosition);
+        increaseLog.info("Servo position increased to: ", servoPosition);
         updateDashboard();
     }
     
@@ -63,8 +82,8 @@ public class ArmSubsystem {
      */
     public void decreasePosition() {
         servoPosition = Math.max(0.0, servoPosition - SERVO_INCREMENT);
-        servo.set(servoPosition);
-        LoggingSystem.logInfo("Servo position decreased to: " + servoPosition);
+        profile.setTarget(servoPosition);
+        decreaseLog.info("Servo position decreased to: ", servoPosition);
         updateDashboard();
     }
     
@@ -72,14 +91,55 @@ public class ArmSubsystem {
      * Updates the SmartDashboard with servo information
      */
     public void updateDashboard() {
-        SmartDashboard.putNumber("Servo Position", servoPosition);
-        SmartDashboard.putNumber("Servo Raw Value", servo.get());
+        DashboardPublisher.putNumber("Servo Position", servoPosition);
+        DashboardPublisher.putNumber("Servo Raw Value", ServoBank.get(servoSlot));
+        DashboardPublisher.putNumber("Arm Angle (degrees)", calibration.toPhysical(profile.getPosition()));
     }
     
     /**
-     * Periodic method to be called regularly
+     * Commands a position from the manipulator planner, bypassing the motion profile
+     */
+    public void setPlannedPosition(double position) {
+        servoPosition = position;
+        profile.reset(position);
+        ServoBank.set(servoSlot, position);
+    }
+
+    /**
+     * @return Position the servo is being commanded to right now
      */
+    public double getServoPosition() {
+        return profile.getPosition();
+    }
+    
+    public ServoCalibration getCalibration() {
+        return calibration;
+    }
+    
+    /**
+     * Registers the dashboard values as telemetry channels
+     */
+    public void registerTelemetry(TelemetryLog log) {
+        positionChannel = log.registerDouble("Servo Position");
+        rawValueChannel = log.registerDouble("Servo Raw Value");
+        velocityChannel = log.registerDouble("Arm Profile Velocity");
+    }
+
+    /**
+     * Records the dashboard values into the telemetry log
+     */
+    public void recordTelemetry(TelemetryLog log) {
+        log.recordDouble(positionChannel, servoPosition);
+        log.recordDouble(rawValueChannel, ServoBank.get(servoSlot));
+        log.recordDouble(velocityChannel, profile.getVelocity());
+    }
+    
+    /**
+     * Steps the motion profile and refreshes the dashboard, called every loop
+     */
+    @Override
     public void periodic() {
-        // Nothing to do here for now
+        ServoBank.follow(servoSlot, profile, System.nanoTime());
+        updateDashboard();
     }
 }
\ No newline at end of file
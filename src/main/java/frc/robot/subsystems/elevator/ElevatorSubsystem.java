@@ -1,2 +1,17 @@
 package frc.robot.subsystems.elevator;
 
+import frc.robot.subsystems.PeriodicSubsystem;
+
+/**
+ * Elevator lift, not built yet
+ */
+public class ElevatorSubsystem implements PeriodicSubsystem {
+
+    /**
+     * Periodic method to be called regularly
+     */
+    @Override
+    public void periodic() {
+        // Nothing to do here for now
+    }
+}
@@ -1,14 +1,21 @@
 package frc.robot.subsystems.elevator;
 
-import edu.wpi.first.wpilibj.Servo;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.constants.Constants;
+import frc.robot.utilities.servo.ServoBank;
+import frc.robot.utilities.servo.ServoCalibration;
+import frc.robot.utilities.servo.TrapezoidalProfile;
+import frc.robot.subsystems.PeriodicSubsystem;
 import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.logger.RateLimitedLog;
+import frc.robot.utilities.telemetry.TelemetryLog;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
 
 /**
  * Subsystem for controlling an extender mechanism using a servo with incremental control
  */
-public class ExtenderSubsystem {
-    private Servo servo;
+public class ExtenderSubsystem implements PeriodicSubsystem {
+    // Slot in the shared servo bank, written once per loop
+    private int servoSlot = ServoBank.NO_SLOT;
 
     // Safe operation range for testing and fine control
     private final double EXTENDER_RETRACTED_POSITION = 0.0;
@@ -21,6 +28,24 @@ public class ExtenderSubsystem {
     // Current position control
     private double currentPosition = EXTENDER_RETRACTED_POSITION;
 
+    // Smooths moves to the target, stepped in periodic()
+    private final TrapezoidalProfile profile =
+            new TrapezoidalProfile(Constants.EXTENDER_MAX_VELOCITY, Constants.EXTENDER_MAX_ACCELERATION, currentPosition);
+
+    // Extension beyond the retracted length (m) to servo command
+    private final ServoCalibration calibration = ServoCalibration.load("extender", 0.0, Constants.EXTENDER_TRAVEL);
+
+    // Position logs are rate limited since the buttons can be mashed
+    private final RateLimitedLog extendLog = new RateLimitedLog(250);
+    private final RateLimitedLog retractLog = new RateLimitedLog(250);
+
+    // Telemetry channels
+    private int retractedChannel = -1;
+    private int extendedChannel = -1;
+    private int positionChannel = -1;
+    private int targetChannel = -1;
+    private int velocityChannel = -1;
+
     /**
      * Constructs an ExtenderSubsystem with the specified servo port
      */
@@ -29,12 +54,12 @@ public class ExtenderSubsystem {
 
         try {
             // Initialize servo
-            servo = new Servo(SERVO_PORT);
+            servoSlot = ServoBank.register(SERVO_PORT);
             LoggingSystem.logInfo("Extender servo initialized on port " + SERVO_PORT);
 
             // Set to retracted position and update internal state
             currentPosition = EXTENDER_RETRACTED_POSITION;
-            servo.set(currentPosition);
+            ServoBank.set(servoSlot, currentPosition);
 
             LoggingSystem.logInfo("Extender initialized to retracted position: " + currentPosition);
         } catch (Exception e) {
@@ -49,8 +74,8 @@ public class ExtenderSubsystem {
         double next = Math.min(EXTENDER_EXTENDED_POSITION, currentPosition + EXTENDER_INCREMENT);
         if (next != currentPosition) {
             currentPosition = next;
-            servo.set(currentPosition);
-            LoggingSystem.logInfo("Extender extending - position: " + currentPosition);
+            profile.setTarget(currentPosition);
+            extendLog.info("Extender extending - position: ", currentPosition);
         }
         updateDashboard();
     }
@@ -62,8 +87,8 @@ public class ExtenderSubsystem {
         double next = Math.max(EXTENDER_RETRACTED_POSITION, currentPosition - EXTENDER_INCREMENT);
         if (next != currentPosition) {
             currentPosition = next;
-            servo.set(currentPosition);
-            LoggingSystem.logInfo("Extender retracting - position: " + currentPosition);
+            profile.setTarget(currentPosition);
+            retractLog.info("Extender retracting - position: ", currentPosition);
         }
         updateDashboard();
     }
@@ -73,7 +98,7 @@ public class ExtenderSubsystem {
      */
     public void goToExtended() {
         currentPosition = EXTENDER_EXTENDED_POSITION;
-        servo.set(currentPosition);
+        profile.setTarget(currentPosition);
         LoggingSystem.logInfo("Extender moved to fully extended position: " + currentPosition);
         updateDashboard();
     }
@@ -83,7 +108,7 @@ public class ExtenderSubsystem {
      */
     public void goToRetracted() {
         currentPosition = EXTENDER_RETRACTED_POSITION;
-        servo.set(currentPosition);
+        profile.setTarget(currentPosition);
         LoggingSystem.logInfo("Extender moved to fully retracted position: " + currentPosition);
         updateDashboard();
     }
@@ -113,18 +138,63 @@ public class ExtenderSubsystem {
      * Updates the SmartDashboard with extender information
      */
     public void updateDashboard() {
-        SmartDashboard.putBoolean("Extender Fully Retracted", isFullyRetracted());
-        SmartDashboard.putBoolean("Extender Fully Extended", isFullyExtended());
-        SmartDashboard.putNumber("Extender Position", servo.get());
-        SmartDashboard.putNumber("Extender Target Position", currentPosition);
-        SmartDashboard.putNumber("Extender Retracted Limit", EXTENDER_RETRACTED_POSITION);
-        SmartDashboard.putNumber("Extender Extended Limit", EXTENDER_EXTENDED_POSITION);
+        DashboardPublisher.putBoolean("Extender Fully Retracted", isFullyRetracted());
+        DashboardPublisher.putBoolean("Extender Fully Extended", isFullyExtended());
+        DashboardPublisher.putNumber("Extender Position", ServoBank.get(servoSlot));
+        DashboardPublisher.putNumber("Extender Target Position", currentPosition);
+        DashboardPublisher.putNumber("Extender Retracted Limit", EXTENDER_RETRACTED_POSITION);
+        DashboardPublisher.putNumber("Extender Extended Limit", EXTENDER_EXTENDED_POSITION);
+        DashboardPublisher.putNumber("Extender Extension (m)", calibration.toPhysical(profile.getPosition()));
+    }
+
+    /**
+     * Commands a position from the manipulator planner, bypassing the motion profile
+     */
+    public void setPlannedPosition(double position) {
+        currentPosition = position;
+        profile.reset(position);
+        ServoBank.set(servoSlot, position);
+    }
+
+    /**
+     * @return Position the servo is being commanded to right now
+     */
+    public double getServoPosition() {
+        return profile.getPosition();
+    }
+    
+    public ServoCalibration getCalibration() {
+        return calibration;
+    }
+    
+    /**
+     * Registers the dashboard values as telemetry channels
+     */
+    public void registerTelemetry(TelemetryLog log) {
+        retractedChannel = log.registerBoolean("Extender Fully Retracted");
+        extendedChannel = log.registerBoolean("Extender Fully Extended");
+        positionChannel = log.registerDouble("Extender Position");
+        targetChannel = log.registerDouble("Extender Target Position");
+        velocityChannel = log.registerDouble("Extender Profile Velocity");
+    }
+
+    /**
+     * Records the dashboard values into the telemetry log
+     */
+    public void recordTelemetry(TelemetryLog log) {
+        log.recordBoolean(retractedChannel, isFullyRetracted());
+        log.recordBoolean(extendedChannel, isFullyExtended());
+        log.recordDouble(positionChannel, ServoBank.get(servoSlot));
+        log.recordDouble(targetChannel, currentPosition);
+        log.recordDouble(velocityChannel, profile.getVelocity());
     }
 
     /**
-     * Periodic method to be called regularly
+     * Steps the motion profile and refreshes the dashboard, called every loop
      */
+    @Override
     public void periodic() {
+        ServoBank.follow(servoSlot, profile, System.nanoTime());
         updateDashboard();
     }
 
@@ -133,7 +203,7 @@ public class ExtenderSubsystem {
      */
     public void initializeToMiddle() {
         currentPosition = (EXTENDER_RETRACTED_POSITION + EXTENDER_EXTENDED_POSITION) / 2;
-        servo.set(currentPosition);
+        profile.setTarget(currentPosition);
         LoggingSystem.logInfo("Extender initialized to middle position: " + currentPosition);
         updateDashboard();
     }
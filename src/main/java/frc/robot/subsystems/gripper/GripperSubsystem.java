@@ -1,14 +1,21 @@
 package frc.robot.subsystems.gripper;
 
-import edu.wpi.first.wpilibj.Servo;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.constants.Constants;
+import frc.robot.utilities.servo.ServoBank;
+import frc.robot.utilities.servo.ServoCalibration;
+import frc.robot.utilities.servo.TrapezoidalProfile;
+import frc.robot.subsystems.PeriodicSubsystem;
 import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.logger.RateLimitedLog;
+import frc.robot.utilities.telemetry.TelemetryLog;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
 
 /**
  * Subsystem for controlling a gripper mechanism using a servo
  */
-public class GripperSubsystem {
-    private Servo servo;
+public class GripperSubsystem implements PeriodicSubsystem {
+    // Slot in the shared servo bank, written once per loop
+    private int servoSlot = ServoBank.NO_SLOT;
     
     // Expanded range for better movement visibility
     private final double GRIPPER_OPEN_POSITION = 0.0;   // Full open (0.0)
@@ -22,6 +29,23 @@ public class GripperSubsystem {
     private double currentPosition = GRIPPER_OPEN_POSITION;
     private final double POSITION_INCREMENT = 0.1;
 
+    // Smooths moves to the target, stepped in periodic()
+    private final TrapezoidalProfile profile =
+            new TrapezoidalProfile(Constants.GRIPPER_MAX_VELOCITY, Constants.GRIPPER_MAX_ACCELERATION, currentPosition);
+
+    // Jaw opening (mm) to servo command
+    private final ServoCalibration calibration = ServoCalibration.load("gripper", Constants.GRIPPER_OPENING_AT_MIN, Constants.GRIPPER_OPENING_AT_MAX);
+
+    // Position logs are rate limited since the buttons can be mashed
+    private final RateLimitedLog increaseLog = new RateLimitedLog(250);
+    private final RateLimitedLog decreaseLog = new RateLimitedLog(250);
+
+    // Telemetry channels
+    private int openChannel = -1;
+    private int positionChannel = -1;
+    private int targetChannel = -1;
+    private int velocityChannel = -1;
+
     /**
      * Constructs a GripperSubsystem with the specified servo port
      * @param servoPort The PWM port the gripper servo is connected to
@@ -31,7 +55,7 @@ public class GripperSubsystem {
         
         try {
             // Initialize servo
-            servo = new Servo(SERVO_PORT);
+            servoSlot = ServoBank.register(SERVO_PORT);
             LoggingSystem.logInfo("Gripper servo initialized on port " + SERVO_PORT);
             
             //functions to Test if Servo works right
@@ -53,18 +77,22 @@ public class GripperSubsystem {
     private void testServo() {
         try {
             // Move to fully closed position
-            servo.set(1.0);
+            ServoBank.set(servoSlot, 1.0);
             LoggingSystem.logInfo("Testing gripper - setting to position 1.0");
+            ServoBank.flush();
             Thread.sleep(500);
             
             // Move to fully open position
-            servo.set(0.0);
+            ServoBank.set(servoSlot, 0.0);
             LoggingSystem.logInfo("Testing gripper - setting to position 0.0");
+            ServoBank.flush();
             Thread.sleep(500);
             
             // Move to middle position
-            servo.set(0.5);
+            ServoBank.set(servoSlot, 0.5);
             LoggingSystem.logInfo("Testing gripper - setting to position 0.5");
+            ServoBank.flush();
+            profile.reset(0.5);
         } catch (InterruptedException e) {
             LoggingSystem.logError("Servo test interrupted: " + e.getMessage());
         }
@@ -75,7 +103,7 @@ public class GripperSubsystem {
      */
     public void openGripper() {
         try {
-            servo.set(GRIPPER_OPEN_POSITION);
+            profile.setTarget(GRIPPER_OPEN_POSITION);
             currentPosition = GRIPPER_OPEN_POSITION;
             isGripperOpen = true;
             LoggingSystem.logInfo("Gripper opened - set to position " + GRIPPER_OPEN_POSITION);
@@ -90,7 +118,7 @@ public class GripperSubsystem {
      */
     public void closeGripper() {
         try {
-            servo.set(GRIPPER_CLOSED_POSITION);
+            profile.setTarget(GRIPPER_CLOSED_POSITION);
             currentPosition = GRIPPER_CLOSED_POSITION;
             isGripperOpen = false;
             LoggingSystem.logInfo("Gripper closed - set to position " + GRIPPER_CLOSED_POSITION);
@@ -105,9 +133,9 @@ public class GripperSubsystem {
      */
     public void increasePosition() {
         currentPosition = Math.min(1.0, currentPosition + POSITION_INCREMENT);
-        servo.set(currentPosition);
+        profile.setTarget(currentPosition);
         isGripperOpen = (currentPosition < 0.5);
-        LoggingSystem.logInfo("Gripper position increased to: " + currentPosition);
+        increaseLog.info("Gripper position increased to: ", currentPosition);
         updateDashboard();
     }
     
@@ -116,9 +144,9 @@ public class GripperSubsystem {
      */
     public void decreasePosition() {
         currentPosition = Math.max(0.0, currentPosition - POSITION_INCREMENT);
-        servo.set(currentPosition);
+        profile.setTarget(currentPosition);
         isGripperOpen = (currentPosition < 0.5);
-        LoggingSystem.logInfo("Gripper position decreased to: " + currentPosition);
+        decreaseLog.info("Gripper position decreased to: ", currentPosition);
         updateDashboard();
     }
     
@@ -137,16 +165,50 @@ public class GripperSubsystem {
      * Updates the SmartDashboard with gripper information
      */
     public void updateDashboard() {
-        SmartDashboard.putBoolean("Gripper Open", isGripperOpen);
-        SmartDashboard.putNumber("Gripper Position", servo.get());
-        SmartDashboard.putNumber("Gripper Target Position", currentPosition);
+        DashboardPublisher.putBoolean("Gripper Open", isGripperOpen);
+        DashboardPublisher.putNumber("Gripper Position", ServoBank.get(servoSlot));
+        DashboardPublisher.putNumber("Gripper Target Position", currentPosition);
+        DashboardPublisher.putNumber("Gripper Opening (mm)", calibration.toPhysical(profile.getPosition()));
+    }
+    
+    /**
+     * @return Position the servo is being commanded to right now
+     */
+    public double getServoPosition() {
+        return profile.getPosition();
+    }
+    
+    public ServoCalibration getCalibration() {
+        return calibration;
     }
     
     /**
-     * Periodic method to be called regularly
+     * Registers the dashboard values as telemetry channels
      */
+    public void registerTelemetry(TelemetryLog log) {
+        openChannel = log.registerBoolean("Gripper Open");
+        positionChannel = log.registerDouble("Gripper Position");
+        targetChannel = log.registerDouble("Gripper Target Position");
+        velocityChannel = log.registerDouble("Gripper Profile Velocity");
+    }
+    
+    /**
+     * Records the dashboard values into the telemetry log
+     */
+    public void recordTelemetry(TelemetryLog log) {
+        log.recordBoolean(openChannel, isGripperOpen);
+        log.recordDouble(positionChannel, ServoBank.get(servoSlot));
+        log.recordDouble(targetChannel, currentPosition);
+        log.recordDouble(velocityChannel, profile.getVelocity());
+    }
+    
+    /**
+     * Steps the motion profile and refreshes the dashboard, called every loop
+     */
+    @Override
     public void periodic() {
-        // Nothing to do here for now
+        ServoBank.follow(servoSlot, profile, System.nanoTime());
+        updateDashboard();
     }
     
     /**
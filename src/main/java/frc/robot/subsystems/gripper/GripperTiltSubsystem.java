@@ -1,14 +1,21 @@
 package frc.robot.subsystems.gripper;
 
-import edu.wpi.first.wpilibj.Servo;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.constants.Constants;
+import frc.robot.utilities.servo.ServoBank;
+import frc.robot.utilities.servo.ServoCalibration;
+import frc.robot.utilities.servo.TrapezoidalProfile;
+import frc.robot.subsystems.PeriodicSubsystem;
 import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.logger.RateLimitedLog;
+import frc.robot.utilities.telemetry.TelemetryLog;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
 
 /**
  * Subsystem for controlling the tilt angle of the gripper mechanism using a servo
  */
-public class GripperTiltSubsystem {
-    private Servo servo;
+public class GripperTiltSubsystem implements PeriodicSubsystem {
+    // Slot in the shared servo bank, written once per loop
+    private int servoSlot = ServoBank.NO_SLOT;
     
     // Tilt position constants
     private final double TILT_UP_POSITION = 0.0;      // Fully tilted up
@@ -22,6 +29,22 @@ public class GripperTiltSubsystem {
     private double currentPosition = TILT_MIDDLE_POSITION;
     private final double POSITION_INCREMENT = 0.05;
 
+    // Smooths moves to the target, stepped in periodic()
+    private final TrapezoidalProfile profile =
+            new TrapezoidalProfile(Constants.GRIPPER_TILT_MAX_VELOCITY, Constants.GRIPPER_TILT_MAX_ACCELERATION, currentPosition);
+
+    // Gripper angle relative to the arm (degrees) to servo command
+    private final ServoCalibration calibration = ServoCalibration.load("gripper_tilt", Constants.TILT_ANGLE_AT_MIN, Constants.TILT_ANGLE_AT_MAX);
+
+    // Position logs are rate limited since the buttons can be mashed
+    private final RateLimitedLog increaseLog = new RateLimitedLog(250);
+    private final RateLimitedLog decreaseLog = new RateLimitedLog(250);
+
+    // Telemetry channels
+    private int positionChannel = -1;
+    private int targetChannel = -1;
+    private int velocityChannel = -1;
+
     /**
      * Constructs a GripperTiltSubsystem with the specified servo port
      * @param servoPort The PWM port the tilt servo is connected to
@@ -31,7 +54,7 @@ public class GripperTiltSubsystem {
         
         try {
             // Initialize servo
-            servo = new Servo(SERVO_PORT);
+            servoSlot = ServoBank.register(SERVO_PORT);
             LoggingSystem.logInfo("Gripper tilt servo initialized on port " + SERVO_PORT);
             
             //functions to Test if Servo works right 
@@ -52,18 +75,22 @@ public class GripperTiltSubsystem {
     private void testServo() {
         try {
             // Move to fully down position
-            servo.set(TILT_DOWN_POSITION);
+            ServoBank.set(servoSlot, TILT_DOWN_POSITION);
             LoggingSystem.logInfo("Testing gripper tilt - setting to down position " + TILT_DOWN_POSITION);
+            ServoBank.flush();
             Thread.sleep(500);
             
             // Move to fully up position
-            servo.set(TILT_UP_POSITION);
+            ServoBank.set(servoSlot, TILT_UP_POSITION);
             LoggingSystem.logInfo("Testing gripper tilt - setting to up position " + TILT_UP_POSITION);
+            ServoBank.flush();
             Thread.sleep(500);
             
             // Move to middle position
-            servo.set(TILT_MIDDLE_POSITION);
+            ServoBank.set(servoSlot, TILT_MIDDLE_POSITION);
             LoggingSystem.logInfo("Testing gripper tilt - setting to middle position " + TILT_MIDDLE_POSITION);
+            ServoBank.flush();
+            profile.reset(TILT_MIDDLE_POSITION);
         } catch (InterruptedException e) {
             LoggingSystem.logError("Gripper tilt servo test interrupted: " + e.getMessage());
         }
@@ -74,7 +101,7 @@ public class GripperTiltSubsystem {
      */
     public void tiltUp() {
         try {
-            servo.set(TILT_UP_POSITION);
+            profile.setTarget(TILT_UP_POSITION);
             currentPosition = TILT_UP_POSITION;
             LoggingSystem.logInfo("Gripper tilted up - set to position " + TILT_UP_POSITION);
             updateDashboard();
@@ -88,7 +115,7 @@ public class GripperTiltSubsystem {
      */
     public void tiltDown() {
         try {
-            servo.set(TILT_DOWN_POSITION);
+            profile.setTarget(TILT_DOWN_POSITION);
             currentPosition = TILT_DOWN_POSITION;
             LoggingSystem.logInfo("Gripper tilted down - set to position " + TILT_DOWN_POSITION);
             updateDashboard();
@@ -102,7 +129,7 @@ public class GripperTiltSubsystem {
      */
     public void setToMiddle() {
         try {
-            servo.set(TILT_MIDDLE_POSITION);
+            profile.setTarget(TILT_MIDDLE_POSITION);
             currentPosition = TILT_MIDDLE_POSITION;
             LoggingSystem.logInfo("Gripper tilt set to middle - position " + TILT_MIDDLE_POSITION);
             updateDashboard();
@@ -116,8 +143,8 @@ public class GripperTiltSubsystem {
      */
     public void increasePosition() {
         currentPosition = Math.min(1.0, currentPosition + POSITION_INCREMENT);
-        servo.set(currentPosition);
-        LoggingSystem.logInfo("Gripper tilt position increased to: " + currentPosition);
+        profile.setTarget(currentPosition);
+        increaseLog.info("Gripper tilt position increased to: ", currentPosition);
         updateDashboard();
     }
     
@@ -126,8 +153,8 @@ public class GripperTiltSubsystem {
      */
     public void decreasePosition() {
         currentPosition = Math.max(0.0, currentPosition - POSITION_INCREMENT);
-        servo.set(currentPosition);
-        LoggingSystem.logInfo("Gripper tilt position decreased to: " + currentPosition);
+        profile.setTarget(currentPosition);
+        decreaseLog.info("Gripper tilt position decreased to: ", currentPosition);
         updateDashboard();
     }
     
@@ -135,14 +162,55 @@ public class GripperTiltSubsystem {
      * Updates the SmartDashboard with tilt information
      */
     public void updateDashboard() {
-        SmartDashboard.putNumber("Gripper Tilt Position", servo.get());
-        SmartDashboard.putNumber("Gripper Tilt Target", currentPosition);
+        DashboardPublisher.putNumber("Gripper Tilt Position", ServoBank.get(servoSlot));
+        DashboardPublisher.putNumber("Gripper Tilt Target", currentPosition);
+        DashboardPublisher.putNumber("Gripper Tilt Angle (degrees)", calibration.toPhysical(profile.getPosition()));
     }
     
     /**
-     * Periodic method to be called regularly
+     * Commands a position from the manipulator planner, bypassing the motion profile
+     */
+    public void setPlannedPosition(double position) {
+        currentPosition = position;
+        profile.reset(position);
+        ServoBank.set(servoSlot, position);
+    }
+
+    /**
+     * @return Position the servo is being commanded to right now
      */
+    public double getServoPosition() {
+        return profile.getPosition();
+    }
+    
+    public ServoCalibration getCalibration() {
+        return calibration;
+    }
+    
+    /**
+     * Registers the dashboard values as telemetry channels
+     */
+    public void registerTelemetry(TelemetryLog log) {
+        positionChannel = log.registerDouble("Gripper Tilt Position");
+        targetChannel = log.registerDouble("Gripper Tilt Target");
+        velocityChannel = log.registerDouble("Gripper Tilt Profile Velocity");
+    }
+    
+    /**
+     * Records the dashboard values into the telemetry log
+     */
+    public void recordTelemetry(TelemetryLog log) {
+        log.recordDouble(positionChannel, ServoBank.get(servoSlot));
+        log.recordDouble(targetChannel, currentPosition);
+        log.recordDouble(velocityChannel, profile.getVelocity());
+    }
+    
+    /**
+     * Steps the motion profile and refreshes the dashboard, called every loop
+     */
+    @Override
     public void periodic() {
-        // Nothing to do here for now
+        ServoBank.follow(servoSlot, profile, System.nanoTime());
+        updateDashboard();
     }
 }
\ No newline at end of file
@@ -1,7 +1,14 @@
 package frc.robot.subsystems.joystick;
 
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Joystick;
+
 /**
- * Constants and utility methods for the Studica Multicontroller
+ * Constants, utility methods and a per-cycle input snapshot for the Studica Multicontroller.
+ *
+ * <p>update() reads all buttons, axes and the POV once per cycle. Button
+ * states are kept as bitmasks (bit n-1 for button n), so pressed and released
+ * edges are one AND each and every consumer reads the same snapshot.
  */
 public class Gamepad {
     /*
@@ -19,6 +26,7 @@ public class Gamepad {
     public static final int START_BUTTON = 8;
     public static final int LEFT_STICK_BUTTON = 9;
     public static final int RIGHT_STICK_BUTTON = 10;
+    public static final int BUTTON_COUNT = 10;
 
     // Axes
     public static final int LEFT_ANALOG_X = 0;
@@ -27,6 +35,7 @@ public class Gamepad {
     public static final int RIGHT_TRIGGER = 3;
     public static final int RIGHT_ANALOG_X = 4;
     public static final int RIGHT_ANALOG_Y = 5;
+    public static final int AXIS_COUNT = 6;
     
     // D-Pad values (POV hat angles in degrees)
     public static final int POV_UP = 0;
@@ -73,4 +82,87 @@ public class Gamepad {
     public static double squareInput(double value) {
         return Math.copySign(value * value, value);
     }
+
+    /**
+     * @return Mask bit for a button number (1-based, as used by getRawButton)
+     */
+    public static int bit(int button) {
+        return 1 << (button - 1);
+    }
+
+    // ===== INPUT SNAPSHOT =====
+    private final Joystick joystick;
+    private final DriverStation driverStation = DriverStation.getInstance();
+
+    private int held = 0;
+    private int pressed = 0;
+    private int released = 0;
+    private final double[] axes = new double[AXIS_COUNT];
+    private int pov = POV_CENTER;
+
+    public Gamepad(Joystick joystick) {
+        this.joystick = joystick;
+    }
+
+    /**
+     * Reads the controller once. Call at the start of every cycle, before any query.
+     */
+    public void update() {
+        int previous = held;
+        // One call for all buttons, already packed with bit n-1 for button n
+        held = driverStation.getStickButtons(joystick.getPort()) & ((1 << BUTTON_COUNT) - 1);
+        pressed = held & ~previous;
+        released = previous & ~held;
+
+        for (int i = 0; i < AXIS_COUNT; i++) {
+            axes[i] = joystick.getRawAxis(i);
+        }
+        pov = joystick.getPOV();
+    }
+
+    // ===== SNAPSHOT QUERIES =====
+    public boolean isHeld(int button) {
+        return (held & bit(button)) != 0;
+    }
+
+    /**
+     * @return True only in the cycle the button went down
+     */
+    public boolean wasPressed(int button) {
+        return (pressed & bit(button)) != 0;
+    }
+
+    /**
+     * @return True only in the cycle the button went up
+     */
+    public boolean wasReleased(int button) {
+        return (released & bit(button)) != 0;
+    }
+
+    public int getHeldMask() {
+        return held;
+    }
+
+    public int getPressedMask() {
+        return pressed;
+    }
+
+    public int getReleasedMask() {
+        return released;
+    }
+
+    public double getAxis(int axis) {
+        return axes[axis];
+    }
+
+    public int getPOV() {
+        return pov;
+    }
+
+    /**
+     * @return False if the last snapshot had out-of-range axis values
+     */
+    public boolean isConnected() {
+        return Math.abs(axes[LEFT_ANALOG_X]) <= 1.0;
+    }
 }
@@ -0,0 +1,193 @@
+package frc.robot.subsystems.joystick;
+
+/**
+ * Declarative button-to-action bindings on top of the Gamepad snapshot.
+ *
+ * <p>update() turns the snapshot's bitmasks into press, release, hold-repeat
+ * and chord events in an InputEventQueue, dispatch() runs the bound actions.
+ * Bindings are made once at startup; after that a cycle allocates nothing.
+ *
+ * <p>A chord fires when its last button goes down while the others are held.
+ * While a chord is held its buttons emit no press, repeat or release events
+ * of their own.
+ */
+public class InputBindings {
+
+    public static final int MAX_CHORDS = 8;
+    private static final int QUEUE_CAPACITY = 64;
+
+    private final Gamepad gamepad;
+    private final InputEventQueue queue = new InputEventQueue(QUEUE_CAPACITY);
+
+    // Indexed by button number, index 0 unused
+    private final Runnable[] pressActions = new Runnable[Gamepad.BUTTON_COUNT + 1];
+    private final Runnable[] releaseActions = new Runnable[Gamepad.BUTTON_COUNT + 1];
+    private final Runnable[] repeatActions = new Runnable[Gamepad.BUTTON_COUNT + 1];
+    private final long[] repeatDelayNanos = new long[Gamepad.BUTTON_COUNT + 1];
+    private final long[] repeatPeriodNanos = new long[Gamepad.BUTTON_COUNT + 1];
+    private final long[] nextRepeatNanos = new long[Gamepad.BUTTON_COUNT + 1];
+
+    private final int[] chordMasks = new int[MAX_CHORDS];
+    private final Runnable[] chordActions = new Runnable[MAX_CHORDS];
+    private int chordCount = 0;
+    private int activeChords = 0; // bit per chord index
+
+    public InputBindings(Gamepad gamepad) {
+        this.gamepad = gamepad;
+    }
+
+    // ===== BINDING METHODS =====
+    public InputBindings onPress(int button, Runnable action) {
+        pressActions[checkButton(button)] = action;
+        return this;
+    }
+
+    public InputBindings onRelease(int button, Runnable action) {
+        releaseActions[checkButton(button)] = action;
+        return this;
+    }
+
+    /**
+     * Runs the action on press, then repeatedly while the button stays held
+     * @param delaySeconds Hold time before the first repeat
+     * @param periodSeconds Time between repeats
+     */
+    public InputBindings whileHeld(int button, Runnable action, double delaySeconds, double periodSeconds) {
+        if (periodSeconds <= 0) {
+            throw new IllegalArgumentException("Repeat period must be positive");
+        }
+        pressActions[checkButton(button)] = action;
+        repeatActions[button] = action;
+        repeatDelayNanos[button] = (long) (delaySeconds * 1e9);
+        repeatPeriodNanos[button] = (long) (periodSeconds * 1e9);
+        return this;
+    }
+
+    /**
+     * Runs the action when all buttons are down together
+     */
+    public InputBindings onChord(Runnable action, int... buttons) {
+        if (chordCount == MAX_CHORDS) {
+            throw new IllegalStateException("Too many chords, the limit is " + MAX_CHORDS);
+        }
+        if (buttons.length < 2) {
+            throw new IllegalArgumentException("A chord needs at least two buttons");
+        }
+        int chordMask = 0;
+        for (int button : buttons) {
+            chordMask |= Gamepad.bit(checkButton(button));
+        }
+        chordMasks[chordCount] = chordMask;
+        chordActions[chordCount] = action;
+        chordCount++;
+        return this;
+    }
+
+    private static int checkButton(int button) {
+        if (button < 1 || button > Gamepad.BUTTON_COUNT) {
+            throw new IllegalArgumentException("No button " + button);
+        }
+        return button;
+    }
+
+    // ===== EVENT GENERATION =====
+
+    /**
+     * Queues the events of the current Gamepad snapshot. Call once per cycle after Gamepad.update().
+     */
+    public void update(long nowNanos) {
+        int held = gamepad.getHeldMask();
+        int pressed = gamepad.getPressedMask();
+        int released = gamepad.getReleasedMask();
+
+        // Buttons of chords held last cycle stay consumed through their release
+        int consumed = 0;
+        for (int c = 0; c < chordCount; c++) {
+            int chordMask = chordMasks[c];
+            int chordBit = 1 << c;
+            if ((activeChords & chordBit) != 0) {
+                consumed |= chordMask;
+            }
+            if ((held & chordMask) == chordMask) {
+                if ((activeChords & chordBit) == 0 && (pressed & chordMask) != 0) {
+                    activeChords |= chordBit;
+                    consumed |= chordMask;
+                    queue.offer(InputEventQueue.encode(InputEventQueue.CHORD, c));
+                }
+            } else {
+                activeChords &= ~chordBit;
+            }
+        }
+
+        for (int bits = pressed & ~consumed; bits != 0; bits &= bits - 1) {
+            int button = Integer.numberOfTrailingZeros(bits) + 1;
+            if (pressActions[button] != null) {
+                queue.offer(InputEventQueue.encode(InputEventQueue.PRESS, button));
+            }
+            nextRepeatNanos[button] = nowNanos + repeatDelayNanos[button];
+        }
+
+        for (int bits = held & ~pressed & ~consumed; bits != 0; bits &= bits - 1) {
+            int button = Integer.numberOfTrailingZeros(bits) + 1;
+            if (repeatActions[button] == null || nowNanos - nextRepeatNanos[button] < 0) {
+                continue;
+            }
+            queue.offer(InputEventQueue.encode(InputEventQueue.REPEAT, button));
+            nextRepeatNanos[button] += repeatPeriodNanos[button];
+            if (nextRepeatNanos[button] - nowNanos <= 0) {
+                // Don't burst to catch up after a slow cycle
+                nextRepeatNanos[button] = nowNanos + repeatPeriodNanos[button];
+            }
+        }
+
+        // A button left held after its chord ends starts a fresh repeat delay
+        for (int bits = held & consumed; bits != 0; bits &= bits - 1) {
+            int button = Integer.numberOfTrailingZeros(bits) + 1;
+            nextRepeatNanos[button] = nowNanos + repeatDelayNanos[button];
+        }
+
+        for (int bits = released & ~consumed; bits != 0; bits &= bits - 1) {
+            int button = Integer.numberOfTrailingZeros(bits) + 1;
+            if (releaseActions[button] != null) {
+                queue.offer(InputEventQueue.encode(InputEventQueue.RELEASE, button));
+            }
+        }
+    }
+
+    // ===== DISPATCH =====
+
+    /**
+     * Runs the actions of all queued events in order
+     */
+    public void dispatch() {
+        for (int event = queue.poll(); event != InputEventQueue.NONE; event = queue.poll()) {
+            int code = InputEventQueue.code(event);
+            switch (InputEventQueue.type(event)) {
+                case InputEventQueue.PRESS:
+                    pressActions[code].run();
+                    break;
+                case InputEventQueue.REPEAT:
+                    repeatActions[code].run();
+                    break;
+                case InputEventQueue.RELEASE:
+                    releaseActions[code].run();
+                    break;
+                default:
+                    chordActions[code].run();
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Queues and dispatches the events of the current snapshot
+     */
+    public void process() {
+        update(System.nanoTime());
+        dispatch();
+    }
+
+    public long getDroppedEventCount() {
+        return queue.getDroppedCount();
+    }
+}
@@ -0,0 +1,89 @@
+package frc.robot.subsystems.joystick;
+
+/**
+ * Fixed-size FIFO of input events encoded as ints.
+ *
+ * <p>An event is its type in the high bits and a button number or chord
+ * index in the low byte, so queueing and dispatching never allocate.
+ * Only used from the robot loop thread.
+ */
+public class InputEventQueue {
+
+    // ===== EVENT ENCODING =====
+    public static final int PRESS = 1;
+    public static final int RELEASE = 2;
+    public static final int REPEAT = 3;
+    public static final int CHORD = 4;
+
+    // Returned by poll() when the queue is empty
+    public static final int NONE = 0;
+
+    private static final int TYPE_SHIFT = 8;
+    private static final int CODE_MASK = 0xFF;
+
+    public static int encode(int type, int code) {
+        return (type << TYPE_SHIFT) | (code & CODE_MASK);
+    }
+
+    public static int type(int event) {
+        return event >>> TYPE_SHIFT;
+    }
+
+    /**
+     * @return Button number for PRESS, RELEASE and REPEAT, chord index for CHORD
+     */
+    public static int code(int event) {
+        return event & CODE_MASK;
+    }
+
+    // ===== QUEUE =====
+    private final int[] events;
+    private final int mask;
+    private int head = 0;
+    private int tail = 0;
+    private long dropped = 0;
+
+    /**
+     * @param capacity Maximum queued events, rounded up to a power of two
+     */
+    public InputEventQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        events = new int[size];
+        mask = size - 1;
+    }
+
+    /**
+     * @return False if the queue was full and the event was dropped
+     */
+    public boolean offer(int event) {
+        if (tail - head == events.length) {
+            dropped++;
+            return false;
+        }
+        events[tail & mask] = event;
+        tail++;
+        return true;
+    }
+
+    /**
+     * @return Oldest event, or NONE if the queue is empty
+     */
+    public int poll() {
+        if (head == tail) {
+            return NONE;
+        }
+        return events[head++ & mask];
+    }
+
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    public void clear() {
+        head = tail;
+    }
+
+    public long getDroppedCount() {
+        return dropped;
+    }
+}
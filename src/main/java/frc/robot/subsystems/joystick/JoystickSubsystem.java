@@ -1,145 +1,167 @@
 package frc.robot.subsystems.joystick;
 
 import frc.robot.constants.Constants;
-import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.logger.RateLimitedLog;
 import frc.robot.subsystems.joystick.Gamepad;
 import frc.robot.subsystems.elevator.ArmSubsystem;
 import frc.robot.subsystems.DrivetrainSubsystem;
 import frc.robot.subsystems.elevator.ExtenderSubsystem;
 import frc.robot.subsystems.gripper.GripperSubsystem;
 import frc.robot.subsystems.gripper.GripperTiltSubsystem;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
 
 import edu.wpi.first.wpilibj.Joystick;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 
 public class JoystickSubsystem{
 
-    private Joystick controller;
+    // Input snapshot, refreshed once per cycle by getControllerInputs()
+    private final Gamepad gamepad;
+
+    // Button actions, run by processActions()
+    private final InputBindings bindings;
     
         // ===== SUBSYSTEMS =====
-        private DrivetrainSubsystem drivetrain;
-        private ArmSubsystem arm;
-        private GripperSubsystem gripper;
-        private ExtenderSubsystem extender;
-        private GripperTiltSubsystem gripperTilt;
+        private final DrivetrainSubsystem drivetrain;
+        private final ArmSubsystem arm;
+        private final GripperSubsystem gripper;
+        private final ExtenderSubsystem extender;
+        private final GripperTiltSubsystem gripperTilt;
+
+    public JoystickSubsystem(Joystick controller, DrivetrainSubsystem drivetrain, ArmSubsystem arm,
+            GripperSubsystem gripper, ExtenderSubsystem extender, GripperTiltSubsystem gripperTilt) {
+        this.gamepad = new Gamepad(controller);
+        this.drivetrain = drivetrain;
+        this.arm = arm;
+        this.gripper = gripper;
+        this.extender = extender;
+        this.gripperTilt = gripperTilt;
+        this.bindings = new InputBindings(gamepad);
+        bindActions();
+    }
+
+    // ===== RATE LIMITED LOGS =====
+    // One per action, operator messages are only rate limited, every distinct press gets through
+    private static final long ACTION_LOG_INTERVAL_MILLIS = 250;
+    private final RateLimitedLog armDownLog = actionLog();
+    private final RateLimitedLog armUpLog = actionLog();
+    private final RateLimitedLog armMiddleLog = actionLog();
+    private final RateLimitedLog gripperCloseLog = actionLog();
+    private final RateLimitedLog gripperOpenLog = actionLog();
+    private final RateLimitedLog tiltUpLog = actionLog();
+    private final RateLimitedLog tiltDownLog = actionLog();
+    private final RateLimitedLog extendLog = actionLog();
+    private final RateLimitedLog retractLog = actionLog();
+    private final RateLimitedLog fullExtendLog = actionLog();
+    private final RateLimitedLog fullRetractLog = actionLog();
+
+    private static RateLimitedLog actionLog() {
+        return new RateLimitedLog(ACTION_LOG_INTERVAL_MILLIS, ACTION_LOG_INTERVAL_MILLIS);
+    }
     
     // ===== CONTROLLER INPUT METHODS =====
     public void getControllerInputs() {
+        // Read the controller once, everything below uses the snapshot
+        gamepad.update();
+
         // Check controller connection
-        boolean controllerConnected = Math.abs(controller.getRawAxis(0)) <= 1.0;
-        SmartDashboard.putBoolean("Controller Connected", controllerConnected);
+        boolean controllerConnected = gamepad.isConnected();
+        DashboardPublisher.putBoolean("Controller Connected", controllerConnected);
 
         // Display all button states on dashboard
-        SmartDashboard.putBoolean("Left Bumper", controller.getRawButton(Gamepad.LEFT_BUMPER));
-        SmartDashboard.putBoolean("Right Bumper", controller.getRawButton(Gamepad.RIGHT_BUMPER));
-        SmartDashboard.putBoolean("X Button", controller.getRawButton(Gamepad.BUTTON_X));
-        SmartDashboard.putBoolean("Y Button", controller.getRawButton(Gamepad.BUTTON_Y));
-        SmartDashboard.putBoolean("A Button", controller.getRawButton(Gamepad.BUTTON_A));
-        SmartDashboard.putBoolean("B Button", controller.getRawButton(Gamepad.BUTTON_B));
-        SmartDashboard.putBoolean("Left Stick Button", controller.getRawButton(Gamepad.LEFT_STICK_BUTTON));
-        SmartDashboard.putBoolean("Right Stick Button", controller.getRawButton(Gamepad.RIGHT_STICK_BUTTON));
-        SmartDashboard.putBoolean("Back Button", controller.getRawButton(Gamepad.BACK_BUTTON));
-        SmartDashboard.putBoolean("Start Button", controller.getRawButton(Gamepad.START_BUTTON));
-        SmartDashboard.putNumber("Left Trigger", controller.getRawAxis(Gamepad.LEFT_TRIGGER));
-        SmartDashboard.putNumber("Right Trigger", controller.getRawAxis(Gamepad.RIGHT_TRIGGER));
-        SmartDashboard.putNumber("D-Pad POV", controller.getPOV());
+        DashboardPublisher.putBoolean("Left Bumper", gamepad.isHeld(Gamepad.LEFT_BUMPER));
+        DashboardPublisher.putBoolean("Right Bumper", gamepad.isHeld(Gamepad.RIGHT_BUMPER));
+        DashboardPublisher.putBoolean("X Button", gamepad.isHeld(Gamepad.BUTTON_X));
+        DashboardPublisher.putBoolean("Y Button", gamepad.isHeld(Gamepad.BUTTON_Y));
+        DashboardPublisher.putBoolean("A Button", gamepad.isHeld(Gamepad.BUTTON_A));
+        DashboardPublisher.putBoolean("B Button", gamepad.isHeld(Gamepad.BUTTON_B));
+        DashboardPublisher.putBoolean("Left Stick Button", gamepad.isHeld(Gamepad.LEFT_STICK_BUTTON));
+        DashboardPublisher.putBoolean("Right Stick Button", gamepad.isHeld(Gamepad.RIGHT_STICK_BUTTON));
+        DashboardPublisher.putBoolean("Back Button", gamepad.isHeld(Gamepad.BACK_BUTTON));
+        DashboardPublisher.putBoolean("Start Button", gamepad.isHeld(Gamepad.START_BUTTON));
+        DashboardPublisher.putNumber("Left Trigger", gamepad.getAxis(Gamepad.LEFT_TRIGGER));
+        DashboardPublisher.putNumber("Right Trigger", gamepad.getAxis(Gamepad.RIGHT_TRIGGER));
+        DashboardPublisher.putNumber("D-Pad POV", gamepad.getPOV());
 
         // Display right stick Y value
-        SmartDashboard.putNumber("Right Stick Y", controller.getRawAxis(Gamepad.RIGHT_ANALOG_Y));
+        DashboardPublisher.putNumber("Right Stick Y", gamepad.getAxis(Gamepad.RIGHT_ANALOG_Y));
     }
 
-    // ===== SUBSYSTEM CONTROL METHODS =====
-    public void controlArm() {
-        // Left/Right Bumpers control arm rotation
-        boolean leftBumperPressed = controller.getRawButton(Gamepad.LEFT_BUMPER);
-        boolean rightBumperPressed = controller.getRawButton(Gamepad.RIGHT_BUMPER);
-        
-        if (leftBumperPressed && !Constants.prevLeftBumperState) {
+    // ===== ACTION BINDINGS =====
+    private void bindActions() {
+        // Bumpers jog the arm, holding one keeps it moving
+        bindings.whileHeld(Gamepad.LEFT_BUMPER, () -> {
             arm.decreasePosition();
-            LoggingSystem.logInfo("Left bumper pressed - arm rotating down");
-        }
-        
-        if (rightBumperPressed && !Constants.prevRightBumperState) {
+            armDownLog.info("Left bumper - arm rotating down");
+        }, Constants.JOG_REPEAT_DELAY, Constants.JOG_REPEAT_PERIOD);
+        bindings.whileHeld(Gamepad.RIGHT_BUMPER, () -> {
             arm.increasePosition();
-            LoggingSystem.logInfo("Right bumper pressed - arm rotating up");
-        }
-    }
-    
-    public void controlGripper() {
-        // X button opens gripper incrementally, Y button closes gripper incrementally
-        boolean xButtonPressed = controller.getRawButton(Gamepad.BUTTON_X);
-        boolean yButtonPressed = controller.getRawButton(Gamepad.BUTTON_Y);
+            armUpLog.info("Right bumper - arm rotating up");
+        }, Constants.JOG_REPEAT_DELAY, Constants.JOG_REPEAT_PERIOD);
+        // Both bumpers together re-center the arm
+        bindings.onChord(() -> {
+            arm.initializeToMiddle();
+            armMiddleLog.info("Both bumpers pressed - arm to middle");
+        }, Gamepad.LEFT_BUMPER, Gamepad.RIGHT_BUMPER);
 
-        // X button: close gripper by one increment
-        if (xButtonPressed && !Constants.prevXButtonState) {
+        // X button closes the gripper by one increment, Y button opens it
+        bindings.onPress(Gamepad.BUTTON_X, () -> {
             gripper.decreasePosition();
-            LoggingSystem.logInfo("X button pressed - closing gripper incrementally");
-        }
-
-        // Y button: open gripper by one increment
-        if (yButtonPressed && !Constants.prevYButtonState) {
+            gripperCloseLog.info("X button pressed - closing gripper incrementally");
+        });
+        bindings.onPress(Gamepad.BUTTON_Y, () -> {
             gripper.increasePosition();
-            LoggingSystem.logInfo("Y button pressed - opening gripper incrementally");
-        }
-    }
-    
-    public void controlGripperTilt() {
+            gripperOpenLog.info("Y button pressed - opening gripper incrementally");
+        });
+
         // Stick buttons control gripper tilt
-        boolean leftStickButtonPressed = controller.getRawButton(Gamepad.LEFT_STICK_BUTTON);
-        boolean rightStickButtonPressed = controller.getRawButton(Gamepad.RIGHT_STICK_BUTTON);
-        
-        if (leftStickButtonPressed && !Constants.prevLeftStickButtonState) {
+        bindings.onPress(Gamepad.LEFT_STICK_BUTTON, () -> {
             gripperTilt.decreasePosition();
-            LoggingSystem.logInfo("Left stick button pressed - tilting gripper up");
-        }
-        
-        if (rightStickButtonPressed && !Constants.prevRightStickButtonState) {
+            tiltUpLog.info("Left stick button pressed - tilting gripper up");
+        });
+        bindings.onPress(Gamepad.RIGHT_STICK_BUTTON, () -> {
             gripperTilt.increasePosition();
-            LoggingSystem.logInfo("Right stick button pressed - tilting gripper down");
-        }
-    }
-    
-    /**
-     * Extender control:
-     * - start button to extend, Back button to retract (incremental)
-     * - A button: go to fully extended
-     * - B button: go to fully retracted
-     */
-    public void controlExtender() {
-        boolean startButtonPressed = controller.getRawButton(Gamepad.START_BUTTON);
-        boolean backButtonPressed = controller.getRawButton(Gamepad.BACK_BUTTON);
+            tiltDownLog.info("Right stick button pressed - tilting gripper down");
+        });
 
-        // START button: extend incrementally
-        if (startButtonPressed && !Constants.prevStartButtonState) {
+        /*
+         * Extender control:
+         * - Start button to extend, Back button to retract (incremental)
+         * - A button: go to fully extended
+         * - B button: go to fully retracted
+         */
+        bindings.onPress(Gamepad.START_BUTTON, () -> {
             extender.extend();
-            LoggingSystem.logInfo("Start button pressed - extending extender incrementally");
-        }
-
-        // BACK button: retract incrementally
-        if (backButtonPressed && !Constants.prevBackButtonState) {
+            extendLog.info("Start button pressed - extending extender incrementally");
+        });
+        bindings.onPress(Gamepad.BACK_BUTTON, () -> {
             extender.retract();
-            LoggingSystem.logInfo("Back button pressed - retracting extender incrementally");
-        }
-
-        boolean aButtonPressed = controller.getRawButton(Gamepad.BUTTON_A);
-        boolean bButtonPressed = controller.getRawButton(Gamepad.BUTTON_B);
-
-        if (aButtonPressed && !Constants.prevAButtonState) {
+            retractLog.info("Back button pressed - retracting extender incrementally");
+        });
+        bindings.onPress(Gamepad.BUTTON_A, () -> {
             extender.goToExtended();
-            LoggingSystem.logInfo("A button pressed - extender to full extension");
-        }
-
-        if (bButtonPressed && !Constants.prevBButtonState) {
+            fullExtendLog.info("A button pressed - extender to full extension");
+        });
+        bindings.onPress(Gamepad.BUTTON_B, () -> {
             extender.goToRetracted();
-            LoggingSystem.logInfo("B button pressed - extender to full retraction");
-        }
+            fullRetractLog.info("B button pressed - extender to full retraction");
+        });
+    }
+
+    // ===== SUBSYSTEM CONTROL METHODS =====
+
+    /**
+     * Runs the actions bound to this cycle's button events
+     */
+    public void processActions() {
+        bindings.process();
     }
     
     public void controlDrivetrain() {
         // Analog sticks control drivetrain
-        double forwardSpeed = -controller.getRawAxis(Gamepad.LEFT_ANALOG_Y) * Constants.MAX_DRIVE_SPEED;
-        double rotationSpeed = controller.getRawAxis(Gamepad.RIGHT_ANALOG_X) * Constants.MAX_ROTATION_SPEED;
+        double forwardSpeed = -gamepad.getAxis(Gamepad.LEFT_ANALOG_Y) * Constants.MAX_DRIVE_SPEED;
+        double strafeSpeed = -gamepad.getAxis(Gamepad.LEFT_ANALOG_X) * Constants.MAX_DRIVE_SPEED;
+        double rotationSpeed = gamepad.getAxis(Gamepad.RIGHT_ANALOG_X) * Constants.MAX_ROTATION_SPEED;
         
-        DrivetrainSubsystem.drive(forwardSpeed, rotationSpeed);
+        DrivetrainSubsystem.drive(forwardSpeed, strafeSpeed, rotationSpeed);
     }
 }
@@ -0,0 +1,206 @@
+package frc.robot.subsystems.manipulator;
+
+import frc.robot.constants.Constants;
+import frc.robot.utilities.servo.ServoCalibration;
+
+/**
+ * Kinematics of the arm, extender and gripper tilt in the arm plane.
+ *
+ * <p>x points forward from the arm pivot and z up from the floor, angles are
+ * counterclockwise from horizontal in degrees. Joint positions are servo
+ * values from 0.0 to 1.0, converted through each servo's calibration.
+ *
+ * <p>Inverse kinematics for the wrist point is solved once on a grid.
+ * lookup() interpolates the grid bilinearly, so no trigonometry runs per
+ * cycle. The grid is rebuilt when a calibration changes.
+ */
+public class ManipulatorKinematics {
+
+    // Joint indices in pose arrays
+    public static final int ARM = 0;
+    public static final int EXTENDER = 1;
+    public static final int TILT = 2;
+
+    // Wrist grid, relative to the pivot in x and to the floor in z
+    private static final double GRID_MIN_X = -0.10;
+    private static final double GRID_MAX_X = 0.45;
+    private static final double GRID_MIN_Z = -0.10;
+    private static final double GRID_MAX_Z = 0.65;
+    private static final double GRID_STEP = 0.01;
+
+    // Points checked along each link for collisions
+    private static final int LINK_SAMPLES = 4;
+
+    private final int columns;
+    private final int rows;
+    // Servo values per grid node, NaN where the wrist can't reach
+    private final float[] armGrid;
+    private final float[] extenderGrid;
+
+    private final ServoCalibration armCalibration;
+    private final ServoCalibration extenderCalibration;
+    private final ServoCalibration tiltCalibration;
+    // Calibration versions the grid was built with
+    private int armVersion;
+    private int extenderVersion;
+    private int tiltVersion;
+
+    /**
+     * @param armCalibration Arm angle (degrees) to servo
+     * @param extenderCalibration Extension beyond the retracted length (m) to servo
+     * @param tiltCalibration Gripper angle relative to the arm (degrees) to servo
+     */
+    public ManipulatorKinematics(ServoCalibration armCalibration, ServoCalibration extenderCalibration,
+            ServoCalibration tiltCalibration) {
+        this.armCalibration = armCalibration;
+        this.extenderCalibration = extenderCalibration;
+        this.tiltCalibration = tiltCalibration;
+        columns = (int) Math.round((GRID_MAX_X - GRID_MIN_X) / GRID_STEP) + 1;
+        rows = (int) Math.round((GRID_MAX_Z - GRID_MIN_Z) / GRID_STEP) + 1;
+        armGrid = new float[columns * rows];
+        extenderGrid = new float[columns * rows];
+        buildGrid();
+    }
+
+    private void buildGrid() {
+        armVersion = armCalibration.getVersion();
+        extenderVersion = extenderCalibration.getVersion();
+        tiltVersion = tiltCalibration.getVersion();
+        for (int row = 0; row < rows; row++) {
+            double z = GRID_MIN_Z + row * GRID_STEP - Constants.ARM_PIVOT_HEIGHT;
+            for (int column = 0; column < columns; column++) {
+                double x = GRID_MIN_X + column * GRID_STEP;
+                double angle = Math.toDegrees(Math.atan2(z, x));
+                double extension = Math.hypot(x, z) - Constants.ARM_RETRACTED_LENGTH;
+                boolean reachable = armCalibration.contains(angle) && extenderCalibration.contains(extension);
+                armGrid[row * columns + column] = reachable ? (float) armCalibration.toServo(angle) : Float.NaN;
+                extenderGrid[row * columns + column] = reachable ? (float) extenderCalibration.toServo(extension) : Float.NaN;
+            }
+        }
+    }
+
+    // ===== JOINT CONVERSIONS =====
+    public double armServoToAngle(double servo) {
+        return armCalibration.toPhysical(servo);
+    }
+
+    /**
+     * @return Distance from the pivot to the wrist (m)
+     */
+    public double extenderServoToLength(double servo) {
+        return Constants.ARM_RETRACTED_LENGTH + extenderCalibration.toPhysical(servo);
+    }
+
+    /**
+     * @return Gripper angle relative to the arm (degrees)
+     */
+    public double tiltServoToAngle(double servo) {
+        return tiltCalibration.toPhysical(servo);
+    }
+
+    public double angleToTiltServo(double relativeAngleDegrees) {
+        return tiltCalibration.toServo(relativeAngleDegrees);
+    }
+
+    // ===== INVERSE KINEMATICS =====
+
+    /**
+     * Finds the joint positions that put the fingertips at a point with a given gripper pitch
+     * @param reach Fingertip distance forward of the pivot (m)
+     * @param height Fingertip height above the floor (m)
+     * @param pitchDegrees Gripper angle from horizontal, positive up
+     * @param joints Receives the arm, extender and tilt servo values
+     * @return False if the pose is out of reach
+     */
+    public boolean lookup(double reach, double height, double pitchDegrees, double[] joints) {
+        if (armVersion != armCalibration.getVersion() || extenderVersion != extenderCalibration.getVersion()
+                || tiltVersion != tiltCalibration.getVersion()) {
+            buildGrid();
+        }
+        double pitch = Math.toRadians(pitchDegrees);
+        double wristX = reach - Constants.GRIPPER_LENGTH * Math.cos(pitch);
+        double wristZ = height - Constants.GRIPPER_LENGTH * Math.sin(pitch);
+
+        double gx = (wristX - GRID_MIN_X) / GRID_STEP;
+        double gz = (wristZ - GRID_MIN_Z) / GRID_STEP;
+        if (gx < 0 || gz < 0 || gx > columns - 1 || gz > rows - 1) {
+            return false;
+        }
+        int column = Math.min((int) gx, columns - 2);
+        int row = Math.min((int) gz, rows - 2);
+        double fx = gx - column;
+        double fz = gz - row;
+
+        double arm = interpolate(armGrid, row, column, fx, fz);
+        double extender = interpolate(extenderGrid, row, column, fx, fz);
+        // A NaN corner means the cell touches the edge of the workspace
+        if (Double.isNaN(arm) || Double.isNaN(extender)) {
+            return false;
+        }
+
+        double relativeTilt = pitchDegrees - armServoToAngle(arm);
+        if (!tiltCalibration.contains(relativeTilt)) {
+            return false;
+        }
+        double tilt = angleToTiltServo(relativeTilt);
+        joints[ARM] = arm;
+        joints[EXTENDER] = extender;
+        joints[TILT] = tilt;
+        return true;
+    }
+
+    private double interpolate(float[] grid, int row, int column, double fx, double fz) {
+        int index = row * columns + column;
+        double bottom = grid[index] + (grid[index + 1] - grid[index]) * fx;
+        double top = grid[index + columns] + (grid[index + columns + 1] - grid[index + columns]) * fx;
+        return bottom + (top - bottom) * fz;
+    }
+
+    // ===== COLLISION CHECKS =====
+
+    /**
+     * @return True if no point of the arm or gripper is in the floor or the chassis
+     */
+    public boolean isClear(double armServo, double extenderServo, double tiltServo) {
+        double armAngle = Math.toRadians(armServoToAngle(armServo));
+        double length = extenderServoToLength(extenderServo);
+        double wristX = length * Math.cos(armAngle);
+        double wristZ = Constants.ARM_PIVOT_HEIGHT + length * Math.sin(armAngle);
+
+        double gripperAngle = armAngle + Math.toRadians(tiltServoToAngle(tiltServo));
+        double tipX = wristX + Constants.GRIPPER_LENGTH * Math.cos(gripperAngle);
+        double tipZ = wristZ + Constants.GRIPPER_LENGTH * Math.sin(gripperAngle);
+
+        for (int i = 1; i <= LINK_SAMPLES; i++) {
+            double t = (double) i / LINK_SAMPLES;
+            if (!isFree(wristX * t, Constants.ARM_PIVOT_HEIGHT + (wristZ - Constants.ARM_PIVOT_HEIGHT) * t)
+                    || !isFree(wristX + (tipX - wristX) * t, wristZ + (tipZ - wristZ) * t)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFree(double x, double z) {
+        if (z < Constants.FLOOR_CLEARANCE) {
+            return false;
+        }
+        return x > Constants.CHASSIS_FRONT || z > Constants.CHASSIS_TOP + Constants.FLOOR_CLEARANCE;
+    }
+
+    /**
+     * Checks the straight joint-space move between two poses, excluding the start pose
+     * @param samples Number of poses checked along the move
+     */
+    public boolean isPathClear(double[] from, double[] to, int samples) {
+        for (int i = 1; i <= samples; i++) {
+            double t = (double) i / samples;
+            if (!isClear(from[ARM] + (to[ARM] - from[ARM]) * t,
+                    from[EXTENDER] + (to[EXTENDER] - from[EXTENDER]) * t,
+                    from[TILT] + (to[TILT] - from[TILT]) * t)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,183 @@
+package frc.robot.subsystems.manipulator;
+
+import frc.robot.constants.Constants;
+import frc.robot.subsystems.PeriodicSubsystem;
+import frc.robot.subsystems.elevator.ArmSubsystem;
+import frc.robot.subsystems.elevator.ExtenderSubsystem;
+import frc.robot.subsystems.gripper.GripperTiltSubsystem;
+import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.servo.TrapezoidalProfile;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
+
+/**
+ * Moves the arm, extender and gripper tilt together to a gripper pose.
+ *
+ * <p>moveTo() looks the joint positions up in the kinematics grid and plans
+ * straight joint-space segments. All joints of a segment follow one shared
+ * motion profile, scaled so the slowest joint stays within its limits, so
+ * they start and arrive together. If the direct move would hit the floor
+ * or the chassis, the plan retracts first, rotates, then extends.
+ */
+public class ManipulatorPlanner implements PeriodicSubsystem {
+
+    private static final int MAX_WAYPOINTS = 4;
+    private static final int PATH_SAMPLES = 20;
+
+    private final ArmSubsystem arm;
+    private final ExtenderSubsystem extender;
+    private final GripperTiltSubsystem gripperTilt;
+    private final ManipulatorKinematics kinematics;
+
+    // Waypoint joint positions, waypoint 0 is the pose the plan started from
+    private final double[][] waypoints = new double[MAX_WAYPOINTS][3];
+    private int waypointCount = 0;
+    private int segment = 0;
+    // Shared by all segments, its limits are set per segment
+    private final TrapezoidalProfile segmentProfile = new TrapezoidalProfile(1.0, 1.0, 0.0);
+    private boolean active = false;
+
+    private final double[] goal = new double[3];
+    private final double[] tucked = new double[3];
+    private final double[] rotated = new double[3];
+
+    public ManipulatorPlanner(ArmSubsystem arm, ExtenderSubsystem extender, GripperTiltSubsystem gripperTilt) {
+        this.arm = arm;
+        this.extender = extender;
+        this.gripperTilt = gripperTilt;
+        this.kinematics = new ManipulatorKinematics(arm.getCalibration(), extender.getCalibration(),
+                gripperTilt.getCalibration());
+    }
+
+    // ===== PLANNING =====
+
+    /**
+     * Plans a move of the fingertips to a point with a given gripper pitch
+     * @param reach Fingertip distance forward of the arm pivot (m)
+     * @param height Fingertip height above the floor (m)
+     * @param pitchDegrees Gripper angle from horizontal, positive up
+     * @return False if the pose is out of reach or every plan collides
+     */
+    public boolean moveTo(double reach, double height, double pitchDegrees) {
+        if (!kinematics.lookup(reach, height, pitchDegrees, goal)) {
+            LoggingSystem.logWarn("Manipulator pose out of reach: " + reach + " m, " + height + " m, " + pitchDegrees + " deg");
+            return false;
+        }
+        if (!kinematics.isClear(goal[ManipulatorKinematics.ARM], goal[ManipulatorKinematics.EXTENDER],
+                goal[ManipulatorKinematics.TILT])) {
+            LoggingSystem.logWarn("Manipulator pose collides with the robot or the floor");
+            return false;
+        }
+
+        double[] start = waypoints[0];
+        start[ManipulatorKinematics.ARM] = arm.getServoPosition();
+        start[ManipulatorKinematics.EXTENDER] = extender.getServoPosition();
+        start[ManipulatorKinematics.TILT] = gripperTilt.getServoPosition();
+
+        if (kinematics.isPathClear(start, goal, PATH_SAMPLES)) {
+            copy(goal, waypoints[1]);
+            waypointCount = 2;
+        } else {
+            // Retract and straighten the gripper in line with the arm, rotate, then extend into the goal
+            tucked[ManipulatorKinematics.ARM] = start[ManipulatorKinematics.ARM];
+            tucked[ManipulatorKinematics.EXTENDER] = 0.0;
+            tucked[ManipulatorKinematics.TILT] = kinematics.angleToTiltServo(0.0);
+            rotated[ManipulatorKinematics.ARM] = goal[ManipulatorKinematics.ARM];
+            rotated[ManipulatorKinematics.EXTENDER] = 0.0;
+            rotated[ManipulatorKinematics.TILT] = tucked[ManipulatorKinematics.TILT];
+            if (!kinematics.isPathClear(start, tucked, PATH_SAMPLES)
+                    || !kinematics.isPathClear(tucked, rotated, PATH_SAMPLES)
+                    || !kinematics.isPathClear(rotated, goal, PATH_SAMPLES)) {
+                LoggingSystem.logWarn("No collision-free manipulator path to the requested pose");
+                return false;
+            }
+            copy(tucked, waypoints[1]);
+            copy(rotated, waypoints[2]);
+            copy(goal, waypoints[3]);
+            waypointCount = 4;
+        }
+
+        segment = 0;
+        active = true;
+        startSegment();
+        LoggingSystem.logInfo("Manipulator moving to " + reach + " m, " + height + " m, " + pitchDegrees
+                + " deg in " + (waypointCount - 1) + " segment(s)");
+        return true;
+    }
+
+    /**
+     * Stops the plan, the joints hold their current positions
+     */
+    public void cancel() {
+        if (active) {
+            active = false;
+            LoggingSystem.logInfo("Manipulator move cancelled");
+        }
+    }
+
+    public boolean isBusy() {
+        return active;
+    }
+
+    private void startSegment() {
+        double[] from = waypoints[segment];
+        double[] to = waypoints[segment + 1];
+
+        // Shared profile over 0..1, limited by whichever joint is slowest for its distance
+        double velocity = Double.MAX_VALUE;
+        double acceleration = Double.MAX_VALUE;
+        velocity = limit(velocity, Constants.ARM_MAX_VELOCITY, from, to, ManipulatorKinematics.ARM);
+        velocity = limit(velocity, Constants.EXTENDER_MAX_VELOCITY, from, to, ManipulatorKinematics.EXTENDER);
+        velocity = limit(velocity, Constants.GRIPPER_TILT_MAX_VELOCITY, from, to, ManipulatorKinematics.TILT);
+        acceleration = limit(acceleration, Constants.ARM_MAX_ACCELERATION, from, to, ManipulatorKinematics.ARM);
+        acceleration = limit(acceleration, Constants.EXTENDER_MAX_ACCELERATION, from, to, ManipulatorKinematics.EXTENDER);
+        acceleration = limit(acceleration, Constants.GRIPPER_TILT_MAX_ACCELERATION, from, to, ManipulatorKinematics.TILT);
+        if (velocity == Double.MAX_VALUE) {
+            // Nothing moves in this segment
+            velocity = 1.0;
+            acceleration = 1.0;
+        }
+
+        segmentProfile.setLimits(velocity, acceleration);
+        segmentProfile.reset(0.0);
+        segmentProfile.setTarget(1.0);
+    }
+
+    private static double limit(double current, double jointLimit, double[] from, double[] to, int joint) {
+        double distance = Math.abs(to[joint] - from[joint]);
+        return distance < 1e-6 ? current : Math.min(current, jointLimit / distance);
+    }
+
+    private static void copy(double[] from, double[] to) {
+        System.arraycopy(from, 0, to, 0, 3);
+    }
+
+    // ===== EXECUTION =====
+
+    /**
+     * Steps the active plan and commands all three joints
+     */
+    @Override
+    public void periodic() {
+        DashboardPublisher.putBoolean("Manipulator Moving", active);
+        if (!active) {
+            return;
+        }
+
+        double s = segmentProfile.update(System.nanoTime());
+        double[] from = waypoints[segment];
+        double[] to = waypoints[segment + 1];
+        arm.setPlannedPosition(from[ManipulatorKinematics.ARM] + (to[ManipulatorKinematics.ARM] - from[ManipulatorKinematics.ARM]) * s);
+        extender.setPlannedPosition(from[ManipulatorKinematics.EXTENDER] + (to[ManipulatorKinematics.EXTENDER] - from[ManipulatorKinematics.EXTENDER]) * s);
+        gripperTilt.setPlannedPosition(from[ManipulatorKinematics.TILT] + (to[ManipulatorKinematics.TILT] - from[ManipulatorKinematics.TILT]) * s);
+
+        if (segmentProfile.isFinished()) {
+            segment++;
+            if (segment >= waypointCount - 1) {
+                active = false;
+                LoggingSystem.logInfo("Manipulator move complete");
+            } else {
+                startSegment();
+            }
+        }
+    }
+}
@@ -1,5 +1,230 @@
 package frc.robot.subsystems.vision;
 
+import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.logger.RateLimitedLog;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
+import frc.robot.utilities.timing.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Captures frames on one thread and processes the newest one on another.
+ *
+ * <p>Three preallocated frames are triple buffered: the capture thread fills
+ * the back frame, the processing thread reads the front frame, and the
+ * middle frame holds the newest finished capture. Finishing a capture swaps
+ * back and middle; taking a frame swaps middle and front. Both swaps are one
+ * atomic exchange, so neither thread ever waits for the other. A capture
+ * that replaces a middle frame nobody took yet is counted as dropped, so
+ * processing always works on the newest frame instead of falling behind.
+ */
 public class CameraManager {
-    
-}
\ No newline at end of file
+
+    /**
+     * Work done on each frame on the processing thread
+     */
+    public interface FrameProcessor {
+        void process(Frame frame);
+    }
+
+    private static final int FRAME_COUNT = 3;
+    // Middle state: frame index in the low bits, FRESH while nobody took it yet
+    private static final int INDEX_MASK = 0x3;
+    private static final int FRESH = 0x4;
+
+    // How long the processing thread sleeps without a new frame, it is woken on each capture
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    // Pause after a failed grab so a missing camera doesn't spin the capture thread
+    private static final long ERROR_BACKOFF_MILLIS = 20;
+
+    private final FrameSource source;
+    private final Frame[] frames = new Frame[FRAME_COUNT];
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0; // capture thread only
+    private int front = 2; // processing thread only
+    private long sequence = 0; // capture thread only
+
+    private final FrameProcessor processor;
+    private Thread captureThread;
+    private Thread processingThread;
+    private volatile boolean running = false;
+
+    // Statistics, counters are written by one thread each
+    private volatile long captured = 0;
+    private volatile long processed = 0;
+    private volatile long dropped = 0;
+    private volatile long grabErrors = 0;
+    private final LatencyHistogram processingTime = new LatencyHistogram();
+    private final LatencyHistogram frameAge = new LatencyHistogram();
+    private final RateLimitedLog processorErrorLog = new RateLimitedLog(2000);
+    private final RateLimitedLog grabErrorLog = new RateLimitedLog(2000);
+
+    // Rate window, robot loop only
+    private long windowStartNanos = System.nanoTime();
+    private long windowCaptured = 0;
+    private long windowProcessed = 0;
+    private double captureFps = 0;
+    private double processingFps = 0;
+
+    /**
+     * @param processor Called with each frame on the processing thread
+     */
+    public CameraManager(FrameSource source, FrameProcessor processor) {
+        this.source = source;
+        this.processor = processor;
+        for (int i = 0; i < FRAME_COUNT; i++) {
+            frames[i] = new Frame(source.getWidth(), source.getHeight());
+        }
+    }
+
+    // ===== THREADS =====
+
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        processingThread = new Thread(this::processLoop, "CameraProcessing");
+        processingThread.setDaemon(true);
+        captureThread = new Thread(this::captureLoop, "CameraCapture");
+        captureThread.setDaemon(true);
+        processingThread.start();
+        captureThread.start();
+        LoggingSystem.logInfo("Camera capture started at " + source.getWidth() + "x" + source.getHeight());
+    }
+
+    /**
+     * Stops both threads and closes the source
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(processingThread);
+        try {
+            captureThread.join(1000);
+            processingThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        source.close();
+        LoggingSystem.logInfo("Camera capture stopped");
+    }
+
+    private void captureLoop() {
+        while (running) {
+            Frame frame = frames[back];
+            boolean grabbed;
+            try {
+                grabbed = source.grab(frame.getPixels());
+            } catch (RuntimeException e) {
+                grabErrorLog.error("Frame grab failed: " + e.getMessage());
+                grabbed = false;
+            }
+            if (!grabbed) {
+                grabErrors++;
+                try {
+                    Thread.sleep(ERROR_BACKOFF_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                continue;
+            }
+
+            frame.timestampNanos = System.nanoTime();
+            frame.sequence = ++sequence;
+            // Publish the frame as the newest one and take the old middle frame to fill next
+            int previous = middle.getAndSet(back | FRESH);
+            if ((previous & FRESH) != 0) {
+                dropped++;
+            }
+            back = previous & INDEX_MASK;
+            captured++;
+            LockSupport.unpark(processingThread);
+        }
+    }
+
+    private void processLoop() {
+        while (running) {
+            Frame frame = takeNewest();
+            if (frame == null) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            long start = System.nanoTime();
+            frameAge.record(start - frame.timestampNanos);
+            try {
+                processor.process(frame);
+            } catch (RuntimeException e) {
+                processorErrorLog.error("Frame processing failed: " + e);
+            }
+            processingTime.record(System.nanoTime() - start);
+            processed++;
+        }
+    }
+
+    /**
+     * @return The newest frame if there is one that wasn't taken yet, otherwise null
+     */
+    private Frame takeNewest() {
+        if ((middle.get() & FRESH) == 0) {
+            return null;
+        }
+        int previous = middle.getAndSet(front);
+        front = previous & INDEX_MASK;
+        return frames[front];
+    }
+
+    // ===== STATISTICS =====
+
+    /**
+     * Publishes frame rates, drops and processing times, call from the robot loop.
+     * Histograms are read while the processing thread writes them, so they can be off by a frame.
+     */
+    public void publishStats() {
+        long now = System.nanoTime();
+        long elapsed = now - windowStartNanos;
+        if (elapsed >= 1_000_000_000L) {
+            long capturedNow = captured;
+            long processedNow = processed;
+            captureFps = (capturedNow - windowCaptured) * 1e9 / elapsed;
+            processingFps = (processedNow - windowProcessed) * 1e9 / elapsed;
+            windowCaptured = capturedNow;
+            windowProcessed = processedNow;
+            windowStartNanos = now;
+        }
+        DashboardPublisher.putNumber("Camera Capture FPS", captureFps);
+        DashboardPublisher.putNumber("Camera Processing FPS", processingFps);
+        DashboardPublisher.putNumber("Camera Dropped Frames", dropped);
+        DashboardPublisher.putNumber("Camera Grab Errors", grabErrors);
+        DashboardPublisher.putNumber("Camera Processing p99 (ms)", processingTime.getPercentileNanos(99) / 1e6);
+        DashboardPublisher.putNumber("Camera Frame Age p99 (ms)", frameAge.getPercentileNanos(99) / 1e6);
+    }
+
+    public long getCapturedCount() {
+        return captured;
+    }
+
+    public long getProcessedCount() {
+        return processed;
+    }
+
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+    public long getGrabErrorCount() {
+        return grabErrors;
+    }
+
+    public LatencyHistogram getProcessingTime() {
+        return processingTime;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+}
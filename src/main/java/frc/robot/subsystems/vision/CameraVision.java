@@ -1,18 +1,161 @@
 package frc.robot.subsystems.vision;
 
-public class CameraVision {
-    
+import edu.wpi.first.wpilibj.Filesystem;
+import frc.robot.constants.Constants;
+import frc.robot.subsystems.PeriodicSubsystem;
+import frc.robot.subsystems.vision.apple.Apple;
+import frc.robot.subsystems.vision.apple.AppleExtractor;
+import frc.robot.subsystems.vision.apple.ColorTable;
+import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
 
-    public void detectApple() {
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
+public class CameraVision implements PeriodicSubsystem {
+
+    private static final String SYNTHETIC_SOURCE = "synthetic";
+
+    private final CameraManager camera;
+    private final ColorSegmenter segmenter;
+    private final AppleExtractor extractor;
+
+    // Largest apple of the last frame for the robot loop, the fields can be a frame apart
+    private volatile int appleCount = 0;
+    private volatile String appleColor = "";
+    private volatile double appleX = 0;
+    private volatile double appleY = 0;
+    private volatile int appleArea = 0;
+    private volatile boolean saveRequested = false;
+
+    public CameraVision() {
+        FrameSource source = createSource();
+        ColorTable colors = ColorTable.loadOrCompile(
+                new File(Filesystem.getDeployDirectory(), Constants.APPLE_COLOR_TABLE_FILE), Constants.APPLE_COLOR_TABLE_BITS);
+        segmenter = new ColorSegmenter(source.getWidth(), source.getHeight(), colors);
+        extractor = new AppleExtractor(source.getWidth(), source.getHeight(), Constants.MAX_APPLES,
+                Constants.APPLE_MIN_AREA, Constants.APPLE_MAX_ASPECT);
+        camera = new CameraManager(source, this::detectApple);
+    }
+
+    /**
+     * Picks the frame source from Constants.CAMERA_TEST_SOURCE
+     */
+    private static FrameSource createSource() {
+        String test = Constants.CAMERA_TEST_SOURCE;
+        if (SYNTHETIC_SOURCE.equals(test)) {
+            LoggingSystem.logInfo("Camera: using synthetic frames");
+            return new SyntheticFrameSource(Constants.CAMERA_WIDTH, Constants.CAMERA_HEIGHT, Constants.CAMERA_FPS);
+        }
+        if (!test.isEmpty()) {
+            File file = new File(Filesystem.getDeployDirectory(), test);
+            try {
+                LoggingSystem.logInfo("Camera: replaying frames from " + file);
+                return new FileFrameSource(file, Constants.CAMERA_WIDTH, Constants.CAMERA_HEIGHT, Constants.CAMERA_FPS);
+            } catch (IOException e) {
+                LoggingSystem.logError("Camera: could not open " + file + ", using synthetic frames: " + e.getMessage());
+                return new SyntheticFrameSource(Constants.CAMERA_WIDTH, Constants.CAMERA_HEIGHT, Constants.CAMERA_FPS);
+            }
+        }
+        return new UsbCameraFrameSource(Constants.CAMERA_DEVICE, Constants.CAMERA_WIDTH, Constants.CAMERA_HEIGHT,
+                Constants.CAMERA_FPS);
     }
 
+    /**
+     * Starts capturing and processing frames
+     */
+    public void start() {
+        camera.start();
+    }
+
+    public void stop() {
+        camera.stop();
+        segmenter.close();
+    }
+
+    /**
+     * Looks for apples in a frame, called on the camera processing thread.
+     * Segments the frame by color, then extracts the blobs that are apple sized and shaped.
+     */
+    void detectApple(Frame frame) {
+        segmenter.segment(frame);
+        int count = extractor.extract(segmenter.getMask(), frame.getSequence());
+        if (count > 0) {
+            Apple largest = extractor.getApple(0);
+            appleColor = largest.getColor().name();
+            appleX = largest.getCenterX();
+            appleY = largest.getCenterY();
+            appleArea = largest.getArea();
+        }
+        appleCount = count;
+        if (saveRequested) {
+            saveRequested = false;
+            writeFrame(frame);
+        }
+    }
+
+    /**
+     * Saves the next processed frame as raw RGB in the operating directory,
+     * the format FileFrameSource replays
+     */
     public void saveFrame() {
+        saveRequested = true;
+    }
 
+    private static void writeFrame(Frame frame) {
+        File file = new File(Filesystem.getOperatingDirectory(), "frame_" + frame.getSequence() + ".rgb");
+        ByteBuffer pixels = frame.getPixels().duplicate();
+        pixels.clear();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (pixels.hasRemaining()) {
+                channel.write(pixels);
+            }
+            LoggingSystem.logInfo("Saved camera frame to " + file);
+        } catch (IOException e) {
+            LoggingSystem.logWarn("Camera frame could not be saved to " + file + ": " + e.getMessage());
+        }
     }
 
     public boolean isAppledetected() {
-        
-        return true;
+        return appleCount > 0;
+    }
+
+    public CameraManager getCamera() {
+        return camera;
+    }
+
+    /**
+     * @return Color mask of the last processed frame, only stable on the camera processing thread
+     */
+    public ColorSegmenter getSegmenter() {
+        return segmenter;
+    }
+
+    /**
+     * @return Apples of the last processed frame, only stable on the camera processing thread
+     */
+    public AppleExtractor getExtractor() {
+        return extractor;
+    }
+
+    /**
+     * Publishes the camera statistics, detection runs on the camera processing thread
+     */
+    @Override
+    public void periodic() {
+        camera.publishStats();
+        int count = appleCount;
+        DashboardPublisher.putBoolean("Apple Detected", count > 0);
+        DashboardPublisher.putNumber("Apple Count", count);
+        if (count > 0) {
+            DashboardPublisher.putString("Apple Color", appleColor);
+            DashboardPublisher.putNumber("Apple X (px)", appleX);
+            DashboardPublisher.putNumber("Apple Y (px)", appleY);
+            DashboardPublisher.putNumber("Apple Area (px)", appleArea);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,180 @@
+package frc.robot.subsystems.vision;
+
+import frc.robot.subsystems.vision.apple.AppleColor;
+import frc.robot.subsystems.vision.apple.ColorTable;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Classifies every pixel of a frame into an apple color with a ColorTable, in parallel row bands.
+ *
+ * <p>The result is a mask with one byte per pixel: the AppleColor code, or
+ * 0 for background, so any non-zero byte is foreground. The frame is split
+ * into horizontal bands that run on a fork-join pool with one thread per
+ * core. The mask, the per-band counts and the band tasks are allocated
+ * once and reused for every frame. Use one segmenter from one thread.
+ */
+public class ColorSegmenter {
+
+    // Bands per worker thread, a few more than threads so uneven bands balance out
+    private static final int BANDS_PER_THREAD = 2;
+
+    private final int width;
+    private final int height;
+    private final ColorTable table;
+    private final byte[] mask;
+    private final int[] colorPixels = new int[AppleColor.count() + 1];
+    private final ForkJoinPool pool;
+    private final Band[] bands;
+    private final AllBands root;
+    private ByteBuffer pixels;
+
+    /**
+     * @param threads Worker threads, normally the number of cores
+     */
+    public ColorSegmenter(int width, int height, ColorTable table, int threads) {
+        this.width = width;
+        this.height = height;
+        this.table = table;
+        this.mask = new byte[width * height];
+        this.pool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Segmentation-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+
+        int bandCount = Math.min(height, threads * BANDS_PER_THREAD);
+        bands = new Band[bandCount];
+        for (int i = 0; i < bandCount; i++) {
+            bands[i] = new Band(height * i / bandCount, height * (i + 1) / bandCount);
+        }
+        root = new AllBands();
+    }
+
+    /**
+     * One thread per core
+     */
+    public ColorSegmenter(int width, int height, ColorTable table) {
+        this(width, height, table, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Segments a frame into the mask, blocking until all bands are done
+     */
+    public void segment(Frame frame) {
+        if (frame.getWidth() != width || frame.getHeight() != height) {
+            throw new IllegalArgumentException("Frame is " + frame.getWidth() + "x" + frame.getHeight()
+                    + ", segmenter is " + width + "x" + height);
+        }
+        pixels = frame.getPixels();
+        for (Band band : bands) {
+            band.reinitialize();
+        }
+        root.reinitialize();
+        pool.invoke(root);
+        pixels = null;
+
+        // Bands are complete after invoke(), their counts are visible here
+        Arrays.fill(colorPixels, 0);
+        for (Band band : bands) {
+            for (int code = 1; code < colorPixels.length; code++) {
+                colorPixels[code] += band.counts[code];
+            }
+        }
+    }
+
+    /**
+     * Runs all bands and waits for them
+     */
+    private final class AllBands extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void compute() {
+            invokeAll(bands);
+        }
+    }
+
+    /**
+     * Rows [startRow, endRow) of the frame
+     */
+    private final class Band extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int startRow;
+        private final int endRow;
+        private final int[] counts = new int[AppleColor.count() + 1];
+
+        Band(int startRow, int endRow) {
+            this.startRow = startRow;
+            this.endRow = endRow;
+        }
+
+        @Override
+        protected void compute() {
+            ByteBuffer source = pixels;
+            ColorTable colors = table;
+            byte[] out = mask;
+            Arrays.fill(counts, 0);
+            int end = endRow * width;
+            int offset = startRow * width * Frame.BYTES_PER_PIXEL;
+            for (int i = startRow * width; i < end; i++, offset += Frame.BYTES_PER_PIXEL) {
+                byte code = colors.classify(source.get(offset) & 0xff, source.get(offset + 1) & 0xff,
+                        source.get(offset + 2) & 0xff);
+                out[i] = code;
+                counts[code]++;
+            }
+        }
+    }
+
+    // ===== RESULTS =====
+
+    /**
+     * @return Mask of the last frame, row by row, AppleColor code per pixel or 0
+     */
+    public byte[] getMask() {
+        return mask;
+    }
+
+    /**
+     * @return Pixels of a color in the last frame
+     */
+    public int getPixelCount(AppleColor color) {
+        return colorPixels[color.getCode()];
+    }
+
+    /**
+     * @return Pixels of any apple color in the last frame
+     */
+    public int getForegroundCount() {
+        int total = 0;
+        for (int code = 1; code < colorPixels.length; code++) {
+            total += colorPixels[code];
+        }
+        return total;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getThreadCount() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Stops the worker threads
+     */
+    public void close() {
+        pool.shutdown();
+    }
+}
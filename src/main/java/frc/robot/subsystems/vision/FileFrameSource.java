@@ -0,0 +1,100 @@
+package frc.robot.subsystems.vision;
+
+import frc.robot.utilities.logger.LoggingSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replays recorded frames from a file of raw packed RGB images, one after another.
+ * Starts over at the end of the file. Frames are paced like a camera unless the
+ * rate is 0.
+ */
+public class FileFrameSource implements FrameSource {
+
+    private final File file;
+    private final int width;
+    private final int height;
+    private final int frameBytes;
+    private final long periodNanos;
+    private final FileChannel channel;
+    private long nextFrameNanos = 0;
+
+    /**
+     * @param framesPerSecond Replay rate, 0 for as fast as possible
+     */
+    public FileFrameSource(File file, int width, int height, double framesPerSecond) throws IOException {
+        this.file = file;
+        this.width = width;
+        this.height = height;
+        this.frameBytes = width * height * Frame.BYTES_PER_PIXEL;
+        this.periodNanos = framesPerSecond > 0 ? (long) (1e9 / framesPerSecond) : 0;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        if (channel.size() < frameBytes) {
+            channel.close();
+            throw new IOException(file + " holds less than one " + width + "x" + height + " frame");
+        }
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public boolean grab(ByteBuffer pixels) {
+        pace();
+        try {
+            if (channel.size() - channel.position() < frameBytes) {
+                channel.position(0);
+            }
+            pixels.clear();
+            pixels.limit(frameBytes);
+            while (pixels.hasRemaining()) {
+                if (channel.read(pixels) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            LoggingSystem.logError("Frame could not be read from " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void pace() {
+        if (periodNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (nextFrameNanos == 0 || now - nextFrameNanos > periodNanos) {
+            nextFrameNanos = now;
+        }
+        long wait = nextFrameNanos - now;
+        if (wait > 0) {
+            try {
+                Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        nextFrameNanos += periodNanos;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LoggingSystem.logWarn("Could not close " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package frc.robot.subsystems.vision;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One camera image in a direct buffer, reused by CameraManager for many captures.
+ *
+ * <p>Pixels are packed RGB, 3 bytes per pixel, row by row from the top left.
+ * A frame handed to a FrameProcessor stays unchanged until the processor
+ * returns; keep the results, not the frame.
+ */
+public final class Frame {
+
+    public static final int BYTES_PER_PIXEL = 3;
+
+    private final int width;
+    private final int height;
+    private final ByteBuffer pixels;
+
+    // Set by the capture thread before the frame is handed over
+    long timestampNanos;
+    long sequence;
+
+    Frame(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.pixels = ByteBuffer.allocateDirect(width * height * BYTES_PER_PIXEL);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return The pixel buffer, read it with absolute gets
+     */
+    public ByteBuffer getPixels() {
+        return pixels;
+    }
+
+    /**
+     * @return System.nanoTime() when the frame was captured, for PoseHistory lookups
+     */
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    /**
+     * @return Capture number, gaps mean frames were dropped
+     */
+    public long getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,22 @@
+package frc.robot.subsystems.vision;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Where CameraManager gets its images from: a camera, a recording or generated test frames.
+ */
+public interface FrameSource {
+
+    int getWidth();
+
+    int getHeight();
+
+    /**
+     * Waits for the next image and writes it into the buffer as packed RGB, starting at index 0.
+     * Called on the capture thread only.
+     * @return False if no image could be read, the capture thread tries again
+     */
+    boolean grab(ByteBuffer pixels);
+
+    void close();
+}
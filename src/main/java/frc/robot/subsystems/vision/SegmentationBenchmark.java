@@ -0,0 +1,83 @@
+package frc.robot.subsystems.vision;
+
+import frc.robot.constants.Constants;
+import frc.robot.subsystems.vision.apple.AppleExtractor;
+import frc.robot.subsystems.vision.apple.ColorTable;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures apple detection throughput, segmentation and blob extraction, on synthetic camera-sized frames.
+ * Run it on the Pi to check the frame rate target:
+ *
+ * <pre>
+ * java frc.robot.subsystems.vision.SegmentationBenchmark [frames] [threads] [table bits]
+ * </pre>
+ */
+public class SegmentationBenchmark {
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int bits = args.length > 2 ? Integer.parseInt(args[2]) : Constants.APPLE_COLOR_TABLE_BITS;
+        int width = Constants.CAMERA_WIDTH;
+        int height = Constants.CAMERA_HEIGHT;
+
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean threadBean = bean instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) bean : null;
+        long threadId = Thread.currentThread().getId();
+
+        // A few different frames, so the measured loop doesn't segment one image over and over
+        SyntheticFrameSource source = new SyntheticFrameSource(width, height, 0);
+        Frame[] inputs = new Frame[8];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new Frame(width, height);
+            source.grab(inputs[i].getPixels());
+        }
+
+        long compileStart = System.nanoTime();
+        ColorTable table = ColorTable.compile(bits);
+        long compileNanos = System.nanoTime() - compileStart;
+        ColorSegmenter segmenter = new ColorSegmenter(width, height, table, threads);
+        AppleExtractor extractor = new AppleExtractor(width, height, Constants.MAX_APPLES, Constants.APPLE_MIN_AREA,
+                Constants.APPLE_MAX_ASPECT);
+        // Warm up so the measured loop runs compiled code
+        long checksum = run(segmenter, extractor, inputs, Math.max(frames / 5, 20));
+
+        long bytesBefore = threadBean != null ? threadBean.getThreadAllocatedBytes(threadId) : 0;
+        long start = System.nanoTime();
+        checksum += run(segmenter, extractor, inputs, frames);
+        long elapsed = System.nanoTime() - start;
+        long bytes = threadBean != null ? threadBean.getThreadAllocatedBytes(threadId) - bytesBefore : -1;
+        segmenter.close();
+
+        double millisPerFrame = elapsed / 1e6 / frames;
+        double fps = 1000.0 / millisPerFrame;
+        System.out.printf("%d frames of %dx%d on %d threads%n", frames, width, height, threads);
+        System.out.printf("  %d bit color table compiled in %.1f ms%n", bits, compileNanos / 1e6);
+        System.out.printf("  %.2f ms per frame, %.1f FPS%n", millisPerFrame, fps);
+        System.out.printf("  %s the %d FPS camera rate%n", fps >= Constants.CAMERA_FPS ? "keeps up with" : "is SLOWER than",
+                Constants.CAMERA_FPS);
+        if (bytes >= 0) {
+            System.out.printf("  %d bytes allocated by the calling thread, %.1f per frame%n", bytes, (double) bytes / frames);
+        }
+        System.out.printf("  %d apple pixels in total%n", checksum);
+        if (extractor.getAppleCount() > 0) {
+            System.out.println("  last frame: " + extractor.getApple(0));
+        }
+    }
+
+    private static long run(ColorSegmenter segmenter, AppleExtractor extractor, Frame[] inputs, int frames) {
+        long sum = 0;
+        for (int i = 0; i < frames; i++) {
+            Frame frame = inputs[i % inputs.length];
+            segmenter.segment(frame);
+            int apples = extractor.extract(segmenter.getMask(), frame.getSequence());
+            for (int j = 0; j < apples; j++) {
+                sum += extractor.getApple(j).getArea();
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,90 @@
+package frc.robot.subsystems.vision;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Generated test images: a red disc circling over a grey-blue background at a fixed frame rate.
+ * Lets the capture and detection pipeline run without a camera attached.
+ */
+public class SyntheticFrameSource implements FrameSource {
+
+    private final int width;
+    private final int height;
+    private final long periodNanos;
+    private final byte[] row;
+    private long nextFrameNanos = 0;
+    private int frameNumber = 0;
+
+    /**
+     * @param framesPerSecond Rate to generate frames at, 0 for as fast as possible
+     */
+    public SyntheticFrameSource(int width, int height, double framesPerSecond) {
+        this.width = width;
+        this.height = height;
+        this.periodNanos = framesPerSecond > 0 ? (long) (1e9 / framesPerSecond) : 0;
+        this.row = new byte[width * Frame.BYTES_PER_PIXEL];
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public boolean grab(ByteBuffer pixels) {
+        waitForNextFrame();
+
+        double angle = frameNumber++ * 0.05;
+        int centerX = (int) (width / 2 + width / 4 * Math.cos(angle));
+        int centerY = (int) (height / 2 + height / 4 * Math.sin(angle));
+        int radius = Math.min(width, height) / 8;
+
+        for (int y = 0; y < height; y++) {
+            int dy = y - centerY;
+            for (int x = 0; x < width; x++) {
+                int dx = x - centerX;
+                int i = x * Frame.BYTES_PER_PIXEL;
+                if (dx * dx + dy * dy <= radius * radius) {
+                    row[i] = (byte) 200;
+                    row[i + 1] = (byte) 30;
+                    row[i + 2] = (byte) 30;
+                } else {
+                    row[i] = (byte) 70;
+                    row[i + 1] = (byte) 80;
+                    row[i + 2] = (byte) 100;
+                }
+            }
+            pixels.position(y * row.length);
+            pixels.put(row);
+        }
+        return true;
+    }
+
+    private void waitForNextFrame() {
+        if (periodNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (nextFrameNanos == 0 || now - nextFrameNanos > periodNanos) {
+            nextFrameNanos = now;
+        }
+        long wait = nextFrameNanos - now;
+        if (wait > 0) {
+            try {
+                Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        nextFrameNanos += periodNanos;
+    }
+
+    @Override
+    public void close() {
+    }
+}
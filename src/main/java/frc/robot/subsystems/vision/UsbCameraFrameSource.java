@@ -0,0 +1,79 @@
+package frc.robot.subsystems.vision;
+
+import edu.wpi.cscore.CvSink;
+import edu.wpi.cscore.UsbCamera;
+import edu.wpi.first.cameraserver.CameraServer;
+import frc.robot.utilities.logger.RateLimitedLog;
+
+import org.opencv.core.Mat;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Frames from a USB camera through CameraServer.
+ *
+ * <p>cscore delivers BGR Mats; each frame is copied into a reused byte array,
+ * swapped to RGB and written to the frame buffer, so grabbing doesn't allocate.
+ */
+public class UsbCameraFrameSource implements FrameSource {
+
+    // Longest wait for a frame before grab() gives up (s)
+    private static final double GRAB_TIMEOUT = 0.5;
+
+    private final int width;
+    private final int height;
+    private final UsbCamera camera;
+    private final CvSink sink;
+    private final Mat image = new Mat();
+    private final byte[] bytes;
+    private final RateLimitedLog errorLog = new RateLimitedLog(2000);
+
+    public UsbCameraFrameSource(int device, int width, int height, int framesPerSecond) {
+        this.width = width;
+        this.height = height;
+        this.bytes = new byte[width * height * Frame.BYTES_PER_PIXEL];
+        camera = CameraServer.getInstance().startAutomaticCapture(device);
+        camera.setResolution(width, height);
+        camera.setFPS(framesPerSecond);
+        sink = CameraServer.getInstance().getVideo(camera);
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public boolean grab(ByteBuffer pixels) {
+        if (sink.grabFrame(image, GRAB_TIMEOUT) == 0) {
+            errorLog.error(sink.getError());
+            return false;
+        }
+        if (image.cols() != width || image.rows() != height || image.channels() != Frame.BYTES_PER_PIXEL) {
+            errorLog.error("Camera delivered " + image.cols() + "x" + image.rows() + "x" + image.channels()
+                    + " instead of " + width + "x" + height + "x" + Frame.BYTES_PER_PIXEL);
+            return false;
+        }
+        // BGR to RGB in place
+        image.get(0, 0, bytes);
+        for (int i = 0; i < bytes.length; i += Frame.BYTES_PER_PIXEL) {
+            byte blue = bytes[i];
+            bytes[i] = bytes[i + 2];
+            bytes[i + 2] = blue;
+        }
+        pixels.clear();
+        pixels.put(bytes);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        image.release();
+        CameraServer.getInstance().removeCamera(camera.getName());
+    }
+}
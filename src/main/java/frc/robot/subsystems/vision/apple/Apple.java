@@ -1,5 +1,101 @@
 package frc.robot.subsystems.vision.apple;
 
-public class Apple {
-    
-}
\ No newline at end of file
+/**
+ * One apple found in a frame: a connected blob of one apple color.
+ *
+ * <p>Instances belong to an AppleExtractor's pool and are overwritten by
+ * the next frame, so read them on the thread that runs the extractor and
+ * copy what has to outlive the frame. Coordinates are pixels from the top
+ * left corner, the bounding box is inclusive.
+ */
+public final class Apple {
+
+    private final AppleID id = new AppleID();
+    private AppleColor color;
+    private int area;
+    private double centerX;
+    private double centerY;
+    private int minX;
+    private int minY;
+    private int maxX;
+    private int maxY;
+
+    void set(AppleColor color, int area, double centerX, double centerY, int minX, int minY, int maxX, int maxY) {
+        this.color = color;
+        this.area = area;
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    public AppleID getId() {
+        return id;
+    }
+
+    public AppleColor getColor() {
+        return color;
+    }
+
+    /**
+     * @return Pixels in the blob
+     */
+    public int getArea() {
+        return area;
+    }
+
+    /**
+     * @return Centroid x (px)
+     */
+    public double getCenterX() {
+        return centerX;
+    }
+
+    /**
+     * @return Centroid y (px)
+     */
+    public double getCenterY() {
+        return centerY;
+    }
+
+    public int getMinX() {
+        return minX;
+    }
+
+    public int getMinY() {
+        return minY;
+    }
+
+    public int getMaxX() {
+        return maxX;
+    }
+
+    public int getMaxY() {
+        return maxY;
+    }
+
+    public int getWidth() {
+        return maxX - minX + 1;
+    }
+
+    public int getHeight() {
+        return maxY - minY + 1;
+    }
+
+    /**
+     * @return Longer side of the bounding box over the shorter one, 1 for a round apple
+     */
+    public double getAspectRatio() {
+        int width = getWidth();
+        int height = getHeight();
+        return (double) Math.max(width, height) / Math.min(width, height);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Apple %s %s: %d px at (%.1f, %.1f), %dx%d", id, color, area, centerX, centerY,
+                getWidth(), getHeight());
+    }
+}
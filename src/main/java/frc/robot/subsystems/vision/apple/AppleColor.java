@@ -1,5 +1,99 @@
 package frc.robot.subsystems.vision.apple;
 
-public class AppleColor {
-    
-}
\ No newline at end of file
+/**
+ * Apple colors and the HSV ranges that count as each one.
+ *
+ * <p>Hue is in degrees (0-359), saturation and value are 0-255. A hue range
+ * with min above max wraps through 0, as red does. In a segmentation mask a
+ * color is stored as its code, ordinal() + 1, and 0 is background.
+ * Frames are classified through a ColorTable compiled from these ranges.
+ */
+public enum AppleColor {
+
+    RED(340, 20, 100, 60),
+    YELLOW(35, 65, 110, 90),
+    GREEN(70, 150, 90, 50);
+
+    public static final byte NONE_CODE = 0;
+
+    private static final AppleColor[] VALUES = values();
+
+    private final int hueMin;
+    private final int hueMax;
+    private final int saturationMin;
+    private final int valueMin;
+
+    AppleColor(int hueMin, int hueMax, int saturationMin, int valueMin) {
+        this.hueMin = hueMin;
+        this.hueMax = hueMax;
+        this.saturationMin = saturationMin;
+        this.valueMin = valueMin;
+    }
+
+    /**
+     * @return Code of this color in a segmentation mask
+     */
+    public byte getCode() {
+        return (byte) (ordinal() + 1);
+    }
+
+    /**
+     * @return The color with a mask code, null for background
+     */
+    public static AppleColor fromCode(int code) {
+        return code <= 0 || code > VALUES.length ? null : VALUES[code - 1];
+    }
+
+    /**
+     * @return Number of colors, mask codes run from 1 to this
+     */
+    public static int count() {
+        return VALUES.length;
+    }
+
+    public boolean contains(int hue, int saturation, int value) {
+        if (saturation < saturationMin || value < valueMin) {
+            return false;
+        }
+        if (hueMin <= hueMax) {
+            return hue >= hueMin && hue <= hueMax;
+        }
+        return hue >= hueMin || hue <= hueMax;
+    }
+
+    /**
+     * Classifies one pixel, integer math only
+     * @param r Red 0-255
+     * @param g Green 0-255
+     * @param b Blue 0-255
+     * @return Mask code of the first matching color, NONE_CODE if none matches
+     */
+    public static byte classify(int r, int g, int b) {
+        int max = Math.max(r, Math.max(g, b));
+        int min = Math.min(r, Math.min(g, b));
+        int chroma = max - min;
+        if (max == 0 || chroma == 0) {
+            return NONE_CODE; // grey, no hue
+        }
+        int saturation = chroma * 255 / max;
+
+        int hue;
+        if (max == r) {
+            hue = 60 * (g - b) / chroma;
+        } else if (max == g) {
+            hue = 120 + 60 * (b - r) / chroma;
+        } else {
+            hue = 240 + 60 * (r - g) / chroma;
+        }
+        if (hue < 0) {
+            hue += 360;
+        }
+
+        for (AppleColor color : VALUES) {
+            if (color.contains(hue, saturation, max)) {
+                return color.getCode();
+            }
+        }
+        return NONE_CODE;
+    }
+}
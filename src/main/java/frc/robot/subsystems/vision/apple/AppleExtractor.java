@@ -0,0 +1,269 @@
+package frc.robot.subsystems.vision.apple;
+
+/**
+ * Finds apples as connected blobs in a segmentation mask.
+ *
+ * <p>A single pass over the mask labels each foreground pixel from its
+ * already visited 8-neighbours of the same color, joining labels that turn
+ * out to be one blob with union-find. Blob statistics are summed on the
+ * root label as pixels are visited, so only the labels of the previous and
+ * current row are kept, not a label image. Blobs that pass the area and
+ * aspect filters fill a fixed pool of Apple objects, largest first. All
+ * arrays are allocated in the constructor; extracting a frame allocates
+ * nothing. Use one extractor from one thread.
+ */
+public class AppleExtractor {
+
+    private final int width;
+    private final int height;
+    private final int minArea;
+    private final double maxAspect;
+
+    // Labels of the previous and current row, 0 for background
+    private int[] previousRow;
+    private int[] currentRow;
+
+    // Union-find and blob statistics per label, valid on root labels
+    private final int[] parent;
+    private final int[] area;
+    private final long[] sumX;
+    private final long[] sumY;
+    private final int[] minX;
+    private final int[] minY;
+    private final int[] maxX;
+    private final int[] maxY;
+    private final byte[] code;
+    private int labelCount;
+    private int droppedPixels;
+
+    private final Apple[] apples;
+    private int appleCount;
+    private int blobCount;
+
+    /**
+     * @param maxApples Size of the Apple pool, the largest blobs are kept when more pass the filters
+     * @param minArea Smallest blob that counts as an apple (px)
+     * @param maxAspect Largest bounding box aspect ratio that counts as an apple
+     */
+    public AppleExtractor(int width, int height, int maxApples, int minArea, double maxAspect) {
+        if (maxApples < 1) {
+            throw new IllegalArgumentException("Extractor needs room for at least one apple, got " + maxApples);
+        }
+        this.width = width;
+        this.height = height;
+        this.minArea = minArea;
+        this.maxAspect = maxAspect;
+        this.previousRow = new int[width];
+        this.currentRow = new int[width];
+
+        // With 8-connectivity blobs of one color need a gap between them, so one label per 2x2 block.
+        // Only masks mixing colors pixel by pixel need more, they lose the pixels past the limit.
+        int maxLabels = ((width + 1) / 2) * ((height + 1) / 2) + 1;
+        parent = new int[maxLabels];
+        area = new int[maxLabels];
+        sumX = new long[maxLabels];
+        sumY = new long[maxLabels];
+        minX = new int[maxLabels];
+        minY = new int[maxLabels];
+        maxX = new int[maxLabels];
+        maxY = new int[maxLabels];
+        code = new byte[maxLabels];
+
+        apples = new Apple[maxApples];
+        for (int i = 0; i < maxApples; i++) {
+            apples[i] = new Apple();
+        }
+    }
+
+    /**
+     * Finds the apples in a mask from ColorSegmenter
+     * @param mask AppleColor code per pixel, 0 for background
+     * @param frameSequence Frame the mask came from, for the AppleIDs
+     * @return Number of apples found, read them with getApple()
+     */
+    public int extract(byte[] mask, long frameSequence) {
+        if (mask.length != width * height) {
+            throw new IllegalArgumentException("Mask has " + mask.length + " pixels, extractor expects " + width * height);
+        }
+        labelCount = 1; // label 0 is background
+        droppedPixels = 0;
+        for (int y = 0; y < height; y++) {
+            labelRow(mask, y);
+            int[] swap = previousRow;
+            previousRow = currentRow;
+            currentRow = swap;
+        }
+        collect(frameSequence);
+        return appleCount;
+    }
+
+    private void labelRow(byte[] mask, int y) {
+        int row = y * width;
+        int above = row - width;
+        for (int x = 0; x < width; x++) {
+            byte c = mask[row + x];
+            if (c == AppleColor.NONE_CODE) {
+                currentRow[x] = 0;
+                continue;
+            }
+
+            // Visited neighbours: left, and up-left, up, up-right. A neighbour labelled 0
+            // in the same color is a pixel dropped for lack of labels.
+            int label = 0;
+            if (x > 0 && mask[row + x - 1] == c) {
+                label = currentRow[x - 1];
+            }
+            if (y > 0) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    int nx = x + dx;
+                    if (nx >= 0 && nx < width && mask[above + nx] == c && previousRow[nx] != 0) {
+                        label = label == 0 ? previousRow[nx] : union(label, previousRow[nx]);
+                    }
+                }
+            }
+
+            int root;
+            if (label == 0) {
+                if (labelCount == parent.length) {
+                    currentRow[x] = 0;
+                    droppedPixels++;
+                    continue;
+                }
+                root = labelCount++;
+                parent[root] = root;
+                area[root] = 0;
+                sumX[root] = 0;
+                sumY[root] = 0;
+                minX[root] = x;
+                minY[root] = y;
+                maxX[root] = x;
+                maxY[root] = y;
+                code[root] = c;
+            } else {
+                root = find(label);
+            }
+            currentRow[x] = root;
+            area[root]++;
+            sumX[root] += x;
+            sumY[root] += y;
+            if (x < minX[root]) {
+                minX[root] = x;
+            }
+            if (x > maxX[root]) {
+                maxX[root] = x;
+            }
+            maxY[root] = y;
+        }
+    }
+
+    private int find(int label) {
+        int root = label;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        // Path compression
+        while (parent[label] != root) {
+            int next = parent[label];
+            parent[label] = root;
+            label = next;
+        }
+        return root;
+    }
+
+    /**
+     * Joins two labels, the lower root absorbs the statistics of the other
+     * @return The joined root
+     */
+    private int union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return rootA;
+        }
+        int root = Math.min(rootA, rootB);
+        int child = Math.max(rootA, rootB);
+        parent[child] = root;
+        area[root] += area[child];
+        sumX[root] += sumX[child];
+        sumY[root] += sumY[child];
+        minX[root] = Math.min(minX[root], minX[child]);
+        minY[root] = Math.min(minY[root], minY[child]);
+        maxX[root] = Math.max(maxX[root], maxX[child]);
+        maxY[root] = Math.max(maxY[root], maxY[child]);
+        return root;
+    }
+
+    /**
+     * Fills the Apple pool from the root labels that pass the filters, largest first
+     */
+    private void collect(long frameSequence) {
+        appleCount = 0;
+        blobCount = 0;
+        for (int label = 1; label < labelCount; label++) {
+            if (parent[label] != label) {
+                continue;
+            }
+            blobCount++;
+            int blobArea = area[label];
+            int boxWidth = maxX[label] - minX[label] + 1;
+            int boxHeight = maxY[label] - minY[label] + 1;
+            if (blobArea < minArea
+                    || Math.max(boxWidth, boxHeight) > maxAspect * Math.min(boxWidth, boxHeight)) {
+                continue;
+            }
+
+            // Insert sorted by area, reusing the smallest apple when the pool is full
+            int last = appleCount;
+            if (appleCount == apples.length) {
+                last = apples.length - 1;
+                if (apples[last].getArea() >= blobArea) {
+                    continue;
+                }
+            } else {
+                appleCount++;
+            }
+            Apple apple = apples[last];
+            int position = last;
+            while (position > 0 && apples[position - 1].getArea() < blobArea) {
+                position--;
+            }
+            System.arraycopy(apples, position, apples, position + 1, last - position);
+            apples[position] = apple;
+            apple.set(AppleColor.fromCode(code[label]), blobArea, (double) sumX[label] / blobArea,
+                    (double) sumY[label] / blobArea, minX[label], minY[label], maxX[label], maxY[label]);
+        }
+        for (int i = 0; i < appleCount; i++) {
+            apples[i].getId().set(frameSequence, i);
+        }
+    }
+
+    // ===== RESULTS =====
+
+    /**
+     * @return Apple found in the last extract(), 0 is the largest
+     */
+    public Apple getApple(int index) {
+        if (index < 0 || index >= appleCount) {
+            throw new IndexOutOfBoundsException("Apple " + index + " of " + appleCount);
+        }
+        return apples[index];
+    }
+
+    public int getAppleCount() {
+        return appleCount;
+    }
+
+    /**
+     * @return Blobs in the last mask before filtering, to tune the filters
+     */
+    public int getBlobCount() {
+        return blobCount;
+    }
+
+    /**
+     * @return Pixels left out of the last mask because it had more blobs than labels
+     */
+    public int getDroppedPixels() {
+        return droppedPixels;
+    }
+}
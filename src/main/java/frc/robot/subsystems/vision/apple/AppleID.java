@@ -1,5 +1,32 @@
 package frc.robot.subsystems.vision.apple;
 
-public class AppleID {
-    
-}
\ No newline at end of file
+/**
+ * Identifies a detected apple: the frame it was seen in and its rank in that frame, 0 for the largest.
+ * Reused by the Apple that owns it, copy the values to keep them past the next frame.
+ */
+public final class AppleID {
+
+    private long frameSequence;
+    private int index;
+
+    void set(long frameSequence, int index) {
+        this.frameSequence = frameSequence;
+        this.index = index;
+    }
+
+    /**
+     * @return Sequence number of the frame, see Frame.getSequence()
+     */
+    public long getFrameSequence() {
+        return frameSequence;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return frameSequence + "#" + index;
+    }
+}
@@ -0,0 +1,167 @@
+package frc.robot.subsystems.vision.apple;
+
+import frc.robot.utilities.logger.LoggingSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Quantized RGB lookup table from a pixel color to an AppleColor code.
+ *
+ * <p>Each channel keeps its top bits, so with 6 bits the table has 2^18
+ * cells (256 KB) and classifying a pixel is three shifts and one array
+ * read. Tables are compiled from the AppleColor HSV ranges or generated from
+ * labeled images by ColorTableGenerator and stored in the deploy directory.
+ */
+public final class ColorTable {
+
+    // ===== FILE FORMAT =====
+    public static final int MAGIC = 0x4C555431; // "LUT1"
+    public static final short VERSION = 1;
+
+    // Header: magic, version, bits per channel, color count
+    static final int HEADER_SIZE = 4 + 2 + 1 + 1;
+
+    private final int bits;
+    private final int shift;
+    private final byte[] codes;
+
+    /**
+     * @param codes AppleColor code per cell, index (r << 2 * bits) | (g << bits) | b of the quantized channels
+     */
+    ColorTable(int bits, byte[] codes) {
+        if (bits < 1 || bits > 8) {
+            throw new IllegalArgumentException("Bits per channel must be 1-8, not " + bits);
+        }
+        if (codes.length != 1 << (3 * bits)) {
+            throw new IllegalArgumentException("A " + bits + " bit table has " + (1 << (3 * bits)) + " cells");
+        }
+        this.bits = bits;
+        this.shift = 8 - bits;
+        this.codes = codes;
+    }
+
+    /**
+     * Classifies every cell at its center color with AppleColor.classify()
+     */
+    public static ColorTable compile(int bits) {
+        byte[] codes = new byte[1 << (3 * bits)];
+        int shift = 8 - bits;
+        int half = (1 << shift) >> 1;
+        int levels = 1 << bits;
+        int index = 0;
+        for (int r = 0; r < levels; r++) {
+            for (int g = 0; g < levels; g++) {
+                for (int b = 0; b < levels; b++) {
+                    codes[index++] = AppleColor.classify((r << shift) + half, (g << shift) + half, (b << shift) + half);
+                }
+            }
+        }
+        return new ColorTable(bits, codes);
+    }
+
+    /**
+     * Reads the table from a file, or compiles it from the HSV ranges if there is no usable file
+     */
+    public static ColorTable loadOrCompile(File file, int bits) {
+        if (file.exists()) {
+            try {
+                ColorTable table = read(file);
+                LoggingSystem.logInfo("Loaded apple color table " + file + " (" + table.bits + " bits per channel)");
+                return table;
+            } catch (IOException | RuntimeException e) {
+                LoggingSystem.logError("Apple color table " + file + " could not be read: " + e.getMessage());
+            }
+        }
+        long start = System.nanoTime();
+        ColorTable table = compile(bits);
+        LoggingSystem.logInfo("Compiled apple color table in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return table;
+    }
+
+    // ===== LOOKUP =====
+
+    /**
+     * @param r Red 0-255
+     * @param g Green 0-255
+     * @param b Blue 0-255
+     * @return AppleColor code of the pixel, AppleColor.NONE_CODE for background
+     */
+    public byte classify(int r, int g, int b) {
+        return codes[cellOf(r, g, b)];
+    }
+
+    /**
+     * @return Index of the cell holding a color
+     */
+    int cellOf(int r, int g, int b) {
+        return ((r >> shift) << (2 * bits)) | ((g >> shift) << bits) | (b >> shift);
+    }
+
+    byte getCode(int cell) {
+        return codes[cell];
+    }
+
+    public int getBits() {
+        return bits;
+    }
+
+    // ===== FILE ACCESS =====
+
+    public static ColorTable read(File file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a color table file");
+        }
+        if (buffer.getShort() != VERSION) {
+            throw new IOException("Unsupported color table version");
+        }
+        int bits = buffer.get();
+        int colors = buffer.get();
+        if (colors != AppleColor.count()) {
+            throw new IOException("Table has " + colors + " colors, AppleColor has " + AppleColor.count());
+        }
+        if (bits < 1 || bits > 8 || buffer.remaining() != 1 << (3 * bits)) {
+            throw new IOException("Color table is truncated");
+        }
+        byte[] codes = new byte[buffer.remaining()];
+        buffer.get(codes);
+        for (byte code : codes) {
+            if (code < 0 || code > colors) {
+                throw new IOException("Color table has an unknown color code " + code);
+            }
+        }
+        return new ColorTable(bits, codes);
+    }
+
+    public void write(File file) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + codes.length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.put((byte) bits);
+        buffer.put((byte) AppleColor.count());
+        buffer.put(codes);
+        buffer.flip();
+
+        // Write next to the old file and move it over, so a reader never sees half a file
+        File temporary = new File(directory, file.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        if (!temporary.renameTo(file) && !(file.delete() && temporary.renameTo(file))) {
+            throw new IOException("Could not replace " + file);
+        }
+    }
+}
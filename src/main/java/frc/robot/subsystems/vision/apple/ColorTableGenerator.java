@@ -0,0 +1,113 @@
+package frc.robot.subsystems.vision.apple;
+
+import frc.robot.constants.Constants;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Builds a ColorTable from labeled sample images. Run it on a desktop:
+ *
+ * <pre>
+ * java frc.robot.subsystems.vision.apple.ColorTableGenerator samples [output] [bits]
+ * </pre>
+ *
+ * <p>The samples directory has one subdirectory per label: red, yellow,
+ * green (AppleColor names in lower case) and background. Every image in
+ * one is cropped so that all of its pixels have that label, e.g. apple
+ * crops cut from saved camera frames. Each table cell gets the label seen
+ * most often in it, background winning ties. Cells with too few samples
+ * keep the color the HSV ranges give them. The output defaults to
+ * src/main/deploy/ plus Constants.APPLE_COLOR_TABLE_FILE.
+ */
+public class ColorTableGenerator {
+
+    public static final String BACKGROUND_LABEL = "background";
+
+    // Samples a cell needs before they override the HSV ranges
+    private static final int MIN_CELL_SAMPLES = 3;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ColorTableGenerator samples [output] [bits]");
+            return;
+        }
+        File samples = new File(args[0]);
+        File output = new File(args.length > 1 ? args[1] : "src/main/deploy/" + Constants.APPLE_COLOR_TABLE_FILE);
+        int bits = args.length > 2 ? Integer.parseInt(args[2]) : Constants.APPLE_COLOR_TABLE_BITS;
+
+        ColorTable fallback = ColorTable.compile(bits);
+        int cells = 1 << (3 * bits);
+        // counts[code][cell], code 0 is background
+        int[][] counts = new int[AppleColor.count() + 1][cells];
+        long[] labelPixels = new long[AppleColor.count() + 1];
+
+        for (int code = 0; code <= AppleColor.count(); code++) {
+            String label = code == 0 ? BACKGROUND_LABEL : AppleColor.fromCode(code).name().toLowerCase(Locale.ROOT);
+            File directory = new File(samples, label);
+            File[] files = directory.listFiles();
+            if (files == null) {
+                System.out.println("No " + directory + ", " + label + " keeps its HSV ranges");
+                continue;
+            }
+            Arrays.sort(files);
+            for (File file : files) {
+                BufferedImage image = ImageIO.read(file);
+                if (image == null) {
+                    System.out.println("Skipping " + file + ", not an image");
+                    continue;
+                }
+                for (int y = 0; y < image.getHeight(); y++) {
+                    for (int x = 0; x < image.getWidth(); x++) {
+                        int argb = image.getRGB(x, y);
+                        if ((argb >>> 24) < 128) {
+                            continue; // transparent, outside the crop
+                        }
+                        counts[code][fallback.cellOf((argb >> 16) & 0xff, (argb >> 8) & 0xff, argb & 0xff)]++;
+                        labelPixels[code]++;
+                    }
+                }
+            }
+        }
+
+        byte[] codes = new byte[cells];
+        int learned = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            int total = 0;
+            int best = 0;
+            for (int code = 0; code <= AppleColor.count(); code++) {
+                total += counts[code][cell];
+                if (counts[code][cell] > counts[best][cell]) {
+                    best = code;
+                }
+            }
+            if (total >= MIN_CELL_SAMPLES) {
+                codes[cell] = (byte) best;
+                learned++;
+            } else {
+                codes[cell] = fallback.getCode(cell);
+            }
+        }
+        ColorTable table = new ColorTable(bits, codes);
+
+        // How well the table reproduces its own samples
+        System.out.printf("%d bits per channel, %d of %d cells from samples%n", bits, learned, cells);
+        for (int code = 0; code <= AppleColor.count(); code++) {
+            long correct = 0;
+            for (int cell = 0; cell < cells; cell++) {
+                if (codes[cell] == code) {
+                    correct += counts[code][cell];
+                }
+            }
+            String label = code == 0 ? BACKGROUND_LABEL : AppleColor.fromCode(code).name();
+            System.out.printf("  %-10s %9d pixels, %5.1f %% classified as labeled%n", label, labelPixels[code],
+                    labelPixels[code] == 0 ? 0.0 : 100.0 * correct / labelPixels[code]);
+        }
+        table.write(output);
+        System.out.println("Wrote " + output);
+    }
+}
@@ -0,0 +1,118 @@
+package frc.robot.utilities.logger;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background writer for LoggingSystem.
+ * Callers only enqueue into a preallocated ring buffer; formatting and
+ * writing happen on a dedicated thread in batches, so a slow SD card
+ * never stalls the robot loop. When the buffer is full the message is
+ * dropped and counted instead of blocking.
+ */
+final class AsyncLogWriter implements LogRingBuffer.EntryHandler {
+
+    // How long the writer sleeps when the queue is empty
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    // Upper bound for one batch so a flood of messages still gets flushed regularly
+    private static final int MAX_BATCH = 512;
+
+    private final LogRingBuffer buffer;
+    private final Thread thread;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private long reportedDropped = 0;
+
+    private volatile boolean running = true;
+
+    // Only used on the writer thread
+    private final StringBuilder outBatch = new StringBuilder(16 * 1024);
+    private final StringBuilder errBatch = new StringBuilder(1024);
+
+    AsyncLogWriter(int capacity) {
+        buffer = new LogRingBuffer(capacity);
+        thread = new Thread(this::run, "LoggingSystem-writer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Queues a message, never blocks
+     */
+    void enqueue(long timeMillis, String prefix, String message, boolean error) {
+        if (!buffer.offer(timeMillis, prefix, message, error)) {
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return Total number of messages dropped because the queue was full
+     */
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    int getCapacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Stops the writer thread after everything queued so far has been written
+     */
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            if (writeBatch() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+
+        // Drain whatever was queued before shutdown
+        while (writeBatch() > 0) {
+        }
+    }
+
+    private int writeBatch() {
+        int count = buffer.drain(this, MAX_BATCH);
+
+        long dropped = droppedCount.get();
+        if (dropped != reportedDropped) {
+            LoggingSystem.appendLine(outBatch, System.currentTimeMillis(), LoggingSystem.WARN_PREFIX,
+                    (dropped - reportedDropped) + " log messages dropped, queue full (" + dropped + " total)");
+            reportedDropped = dropped;
+        }
+
+        flush(outBatch, System.out);
+        flush(errBatch, System.err);
+        return count;
+    }
+
+    @Override
+    public void onEntry(long timeMillis, String prefix, String message, boolean error) {
+        LoggingSystem.appendLine(error ? errBatch : outBatch, timeMillis, prefix, message);
+    }
+
+    private static void flush(StringBuilder batch, PrintStream stream) {
+        if (batch.length() > 0) {
+            // A single print means a single write to the file for the whole batch
+            stream.print(batch);
+            stream.flush();
+            batch.setLength(0);
+        }
+    }
+}
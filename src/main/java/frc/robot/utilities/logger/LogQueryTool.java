@@ -0,0 +1,495 @@
+package frc.robot.utilities.logger;
+
+import frc.robot.utilities.telemetry.TelemetryLogReader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Command-line tool to search robot logs and telemetry after a match.
+ * Runs on a desktop JVM like LoggingTest:
+ *
+ * <pre>
+ * java frc.robot.utilities.logger.LogQueryTool &lt;file&gt; [--from "yyyy-MM-dd HH:mm:ss"] [--to "..."]
+ *         [--level TELEOP|AUTONOMOUS|INFO|WARN|ERROR|TEST] [--grep text] [--stats] [--plain]
+ * </pre>
+ *
+ * <p>Text logs are streamed once to build a block index (byte offset, time
+ * range and the levels present per block) which is saved next to the log
+ * as .idx. Queries then only read the blocks that can match, so multi-GB
+ * logs are never loaded into memory. Gzipped logs are streamed without an
+ * index. Telemetry .bin files are filtered by time and channel name.
+ */
+public class LogQueryTool {
+
+    // Level and mode tags, one bit each in the block masks
+    static final String[] TAGS = { "[INFO]", "[WARN]", "[ERROR]", "[AUTONOMOUS]", "[TELEOP]", "[TEST]" };
+    static final int UNTAGGED = 1 << TAGS.length;
+    static final int ALL_LEVELS = (UNTAGGED << 1) - 1;
+
+    // Index format
+    static final int INDEX_MAGIC = 0x4C514958; // "LQIX"
+    static final int BLOCK_SIZE = 256 * 1024;
+
+    private static final String ANSI_PATTERN = "\033\\[[0-9;]*m";
+
+    /**
+     * One indexed block of the log, always starting at a line start
+     */
+    static final class Block {
+        long offset;
+        long length;
+        long firstTime = Long.MAX_VALUE;
+        long lastTime = Long.MIN_VALUE;
+        int levelMask;
+        int lineCount;
+    }
+
+    // ===== QUERY =====
+    private long fromTime = Long.MIN_VALUE;
+    private long toTime = Long.MAX_VALUE;
+    private int levelMask = ALL_LEVELS;
+    private String keyword;
+    private boolean plain = false;
+    private boolean statsOnly = false;
+    private long matches = 0;
+
+    private static final String USAGE = "Usage: LogQueryTool <log or telemetry file>"
+            + " [--from \"yyyy-MM-dd HH:mm:ss\"] [--to \"...\"] [--level TAG] [--grep text] [--stats] [--plain]";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println(USAGE);
+            return;
+        }
+
+        LogQueryTool query = new LogQueryTool();
+        for (int i = 1; i < args.length; i++) {
+            boolean takesValue = args[i].equals("--from") || args[i].equals("--to")
+                    || args[i].equals("--level") || args[i].equals("--grep");
+            if (takesValue && i + 1 >= args.length) {
+                System.err.println("Missing value for " + args[i]);
+                System.err.println(USAGE);
+                return;
+            }
+            switch (args[i]) {
+                case "--from":
+                    query.fromTime = parseQueryTime(args[++i], false);
+                    break;
+                case "--to":
+                    query.toTime = parseQueryTime(args[++i], true);
+                    break;
+                case "--level":
+                    query.levelMask = levelBit(args[++i]);
+                    break;
+                case "--grep":
+                    query.keyword = args[++i];
+                    break;
+                case "--stats":
+                    query.statsOnly = true;
+                    break;
+                case "--plain":
+                    query.plain = true;
+                    break;
+                default:
+                    System.err.println("Unknown option " + args[i]);
+                    System.err.println(USAGE);
+                    return;
+            }
+        }
+
+        File file = new File(args[0]);
+        PrintStream out = new PrintStream(new BufferedOutputStream(System.out, 64 * 1024), false);
+        long start = System.nanoTime();
+        if (file.getName().endsWith(".bin")) {
+            query.queryTelemetry(file, out);
+        } else if (file.getName().endsWith(".gz")) {
+            try (InputStream in = new GZIPInputStream(new FileInputStream(file), 64 * 1024)) {
+                query.scan(in, Long.MIN_VALUE, Long.MAX_VALUE, out);
+            }
+        } else {
+            query.queryIndexed(file, out);
+        }
+        out.flush();
+        if (!query.statsOnly || file.getName().endsWith(".bin") || file.getName().endsWith(".gz")) {
+            System.err.printf("%d matching entries in %.1f ms%n", query.matches, (System.nanoTime() - start) / 1e6);
+        }
+    }
+
+    // ===== TEXT LOGS =====
+    private void queryIndexed(File file, PrintStream out) throws IOException {
+        Block[] blocks = loadOrBuildIndex(file);
+
+        if (statsOnly) {
+            printStats(blocks, out);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            for (Block block : blocks) {
+                if (block.lastTime < fromTime || block.firstTime > toTime || (block.levelMask & levelMask) == 0) {
+                    continue;
+                }
+                channel.position(block.offset);
+                // Lines without a timestamp at the block start belong to the block's first time
+                scan(Channels.newInputStream(channel), block.firstTime, block.length, out);
+            }
+        }
+    }
+
+    /**
+     * Streams lines from the input and prints the ones matching the query
+     */
+    private void scan(InputStream in, long startTime, long length, PrintStream out) throws IOException {
+        LineReader reader = new LineReader(in);
+        long time = startTime;
+        long read = 0;
+        String line;
+        while (read < length && (line = reader.next()) != null) {
+            read += reader.lastLength;
+            long lineTime = parseLineTime(line);
+            if (lineTime != Long.MIN_VALUE) {
+                time = lineTime;
+            }
+            if (time < fromTime || time > toTime) {
+                continue;
+            }
+            if ((lineLevel(line) & levelMask) == 0) {
+                continue;
+            }
+            if (keyword != null && !line.contains(keyword)) {
+                continue;
+            }
+            matches++;
+            if (!statsOnly) {
+                out.println(plain ? line.replaceAll(ANSI_PATTERN, "") : line);
+            }
+        }
+    }
+
+    private static void printStats(Block[] blocks, PrintStream out) {
+        long lines = 0;
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        int[] blocksWithTag = new int[TAGS.length + 1];
+        for (Block block : blocks) {
+            lines += block.lineCount;
+            first = Math.min(first, block.firstTime);
+            last = Math.max(last, block.lastTime);
+            for (int i = 0; i <= TAGS.length; i++) {
+                if ((block.levelMask & (1 << i)) != 0) {
+                    blocksWithTag[i]++;
+                }
+            }
+        }
+        out.println("Blocks: " + blocks.length + ", lines: " + lines);
+        out.println("Time range: " + formatTime(first) + " - " + formatTime(last));
+        for (int i = 0; i < TAGS.length; i++) {
+            out.println("Blocks containing " + TAGS[i] + ": " + blocksWithTag[i]);
+        }
+    }
+
+    // ===== INDEX =====
+    private static Block[] loadOrBuildIndex(File log) throws IOException {
+        File indexFile = new File(log.getPath() + ".idx");
+        if (indexFile.exists() && indexFile.lastModified() >= log.lastModified()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+                if (in.readInt() == INDEX_MAGIC && in.readLong() == log.length()) {
+                    Block[] blocks = new Block[in.readInt()];
+                    for (int i = 0; i < blocks.length; i++) {
+                        Block block = new Block();
+                        block.offset = in.readLong();
+                        block.length = in.readLong();
+                        block.firstTime = in.readLong();
+                        block.lastTime = in.readLong();
+                        block.levelMask = in.readInt();
+                        block.lineCount = in.readInt();
+                        blocks[i] = block;
+                    }
+                    return blocks;
+                }
+            }
+        }
+
+        System.err.println("Building index for " + log + " ...");
+        Block[] blocks = buildIndex(log);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile)))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeLong(log.length());
+            out.writeInt(blocks.length);
+            for (Block block : blocks) {
+                out.writeLong(block.offset);
+                out.writeLong(block.length);
+                out.writeLong(block.firstTime);
+                out.writeLong(block.lastTime);
+                out.writeInt(block.levelMask);
+                out.writeInt(block.lineCount);
+            }
+        } catch (IOException e) {
+            // Read-only folder, the index just is not cached
+            indexFile.delete();
+        }
+        return blocks;
+    }
+
+    static Block[] buildIndex(File log) throws IOException {
+        Block[] blocks = new Block[16];
+        int count = 0;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(log), 64 * 1024)) {
+            LineReader reader = new LineReader(in);
+            Block block = null;
+            long offset = 0;
+            long time = Long.MIN_VALUE;
+            String line;
+            while ((line = reader.next()) != null) {
+                if (block == null || offset - block.offset >= BLOCK_SIZE) {
+                    if (count == blocks.length) {
+                        blocks = Arrays.copyOf(blocks, count * 2);
+                    }
+                    block = new Block();
+                    block.offset = offset;
+                    blocks[count++] = block;
+                }
+
+                long lineTime = parseLineTime(line);
+                if (lineTime != Long.MIN_VALUE) {
+                    time = lineTime;
+                }
+                if (time != Long.MIN_VALUE) {
+                    block.firstTime = Math.min(block.firstTime, time);
+                    block.lastTime = Math.max(block.lastTime, time);
+                }
+                block.levelMask |= lineLevel(line);
+                block.lineCount++;
+                offset += reader.lastLength;
+                block.length = offset - block.offset;
+            }
+        }
+        return Arrays.copyOf(blocks, count);
+    }
+
+    // ===== PARSING =====
+
+    /**
+     * Reads "[yyyy-MM-dd HH:mm:ss.SSS]" at the start of a line into a sortable number
+     * @return Long.MIN_VALUE if the line has no timestamp
+     */
+    static long parseLineTime(String line) {
+        if (line.length() < 25 || line.charAt(0) != '[' || line.charAt(24) != ']') {
+            return Long.MIN_VALUE;
+        }
+        long year = digits(line, 1, 4);
+        long month = digits(line, 6, 2);
+        long day = digits(line, 9, 2);
+        long hour = digits(line, 12, 2);
+        long minute = digits(line, 15, 2);
+        long second = digits(line, 18, 2);
+        long millis = digits(line, 21, 3);
+        if ((year | month | day | hour | minute | second | millis) < 0) {
+            return Long.MIN_VALUE;
+        }
+        return timeKey(year, month, day, hour, minute, second, millis);
+    }
+
+    private static long timeKey(long year, long month, long day, long hour, long minute, long second, long millis) {
+        return ((((((year * 13 + month) * 32 + day) * 24 + hour) * 60 + minute) * 60 + second) * 1000) + millis;
+    }
+
+    private static long digits(String text, int start, int count) {
+        long value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Parses a query time, missing fields are filled with the start or end of the range
+     */
+    static long parseQueryTime(String text, boolean end) {
+        String template = end ? "9999-12-31 23:59:59.999" : "0000-01-01 00:00:00.000";
+        String full = "[" + text + template.substring(Math.min(text.length(), template.length())) + "]";
+        long time = parseLineTime(full);
+        if (time == Long.MIN_VALUE) {
+            throw new IllegalArgumentException("Invalid time " + text + ", expected yyyy-MM-dd HH:mm:ss.SSS");
+        }
+        return time;
+    }
+
+    private static String formatTime(long key) {
+        if (key == Long.MAX_VALUE || key == Long.MIN_VALUE) {
+            return "?";
+        }
+        long millis = key % 1000;
+        key /= 1000;
+        long second = key % 60;
+        key /= 60;
+        long minute = key % 60;
+        key /= 60;
+        long hour = key % 24;
+        key /= 24;
+        long day = key % 32;
+        key /= 32;
+        long month = key % 13;
+        long year = key / 13;
+        return String.format("%04d-%02d-%02d %02d:%02d:%02d.%03d", year, month, day, hour, minute, second, millis);
+    }
+
+    static int lineLevel(String line) {
+        // The tag follows the timestamp and color codes, so only look near the start
+        int limit = Math.min(line.length(), 64);
+        for (int i = 0; i < TAGS.length; i++) {
+            int index = line.indexOf(TAGS[i]);
+            if (index >= 0 && index < limit) {
+                return 1 << i;
+            }
+        }
+        return UNTAGGED;
+    }
+
+    static int levelBit(String name) {
+        String tag = "[" + name.toUpperCase() + "]";
+        for (int i = 0; i < TAGS.length; i++) {
+            if (TAGS[i].equals(tag)) {
+                return 1 << i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown level " + name);
+    }
+
+    // ===== TELEMETRY =====
+    private void queryTelemetry(File file, PrintStream out) throws IOException {
+        long sessionStart = TelemetryLogReader.readStartTime(file);
+        TelemetryClock clock = new TelemetryClock(sessionStart);
+
+        TelemetryLogReader.read(file, new TelemetryLogReader.Visitor() {
+            @Override
+            public void onDouble(long timestampNanos, String channel, double value) {
+                print(timestampNanos, channel, Double.toString(value));
+            }
+
+            @Override
+            public void onBoolean(long timestampNanos, String channel, boolean value) {
+                print(timestampNanos, channel, Boolean.toString(value));
+            }
+
+            @Override
+            public void onInt(long timestampNanos, String channel, int value) {
+                print(timestampNanos, channel, Integer.toString(value));
+            }
+
+            @Override
+            public void onString(long timestampNanos, String channel, String value) {
+                print(timestampNanos, channel, value);
+            }
+
+            @Override
+            public void onIntArray(long timestampNanos, String channel, int[] values) {
+                print(timestampNanos, channel, Arrays.toString(values));
+            }
+
+            private void print(long timestampNanos, String channel, String value) {
+                long time = clock.key(timestampNanos);
+                if (time < fromTime || time > toTime) {
+                    return;
+                }
+                if (keyword != null && (channel == null || !channel.contains(keyword))) {
+                    return;
+                }
+                matches++;
+                if (!statsOnly) {
+                    out.println("[" + formatTime(time) + "] " + channel + " = " + value);
+                }
+            }
+        });
+    }
+
+    /**
+     * Converts telemetry timestamps into the same sortable time keys as the text log
+     */
+    private static final class TelemetryClock {
+        private final long sessionStartMillis;
+
+        TelemetryClock(long sessionStartMillis) {
+            this.sessionStartMillis = sessionStartMillis;
+        }
+
+        long key(long timestampNanos) {
+            LocalDateTime time = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(sessionStartMillis + timestampNanos / 1_000_000), ZoneId.systemDefault());
+            return timeKey(time.getYear(), time.getMonthValue(), time.getDayOfMonth(), time.getHour(),
+                    time.getMinute(), time.getSecond(), time.getNano() / 1_000_000);
+        }
+    }
+
+    // ===== LINE READING =====
+
+    /**
+     * Splits a byte stream into lines and remembers how many bytes each line used
+     */
+    static final class LineReader {
+        private final InputStream in;
+        private final byte[] buffer = new byte[64 * 1024];
+        private int position = 0;
+        private int limit = 0;
+        private byte[] line = new byte[1024];
+        int lastLength;
+
+        LineReader(InputStream in) {
+            this.in = in;
+        }
+
+        String next() throws IOException {
+            int size = 0;
+            int consumed = 0;
+            while (true) {
+                if (position == limit) {
+                    limit = in.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        break;
+                    }
+                }
+                byte b = buffer[position++];
+                consumed++;
+                if (b == '\n') {
+                    break;
+                }
+                if (size == line.length) {
+                    line = Arrays.copyOf(line, size * 2);
+                }
+                line[size++] = b;
+            }
+            if (consumed == 0) {
+                return null;
+            }
+            lastLength = consumed;
+            if (size > 0 && line[size - 1] == '\r') {
+                size--;
+            }
+            return new String(line, 0, size, StandardCharsets.UTF_8);
+        }
+    }
+}
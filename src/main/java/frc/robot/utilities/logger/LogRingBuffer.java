@@ -0,0 +1,110 @@
+package frc.robot.utilities.logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of log entries.
+ * Any thread may offer, but only the writer thread may drain.
+ * All slots are allocated up front so enqueueing never allocates.
+ */
+final class LogRingBuffer {
+
+    /**
+     * Receives drained entries on the writer thread
+     */
+    interface EntryHandler {
+        void onEntry(long timeMillis, String prefix, String message, boolean error);
+    }
+
+    private final int mask;
+
+    // Per-slot sequence numbers tell producers and the consumer who owns a slot
+    private final AtomicLongArray sequences;
+    private final long[] timestamps;
+    private final String[] prefixes;
+    private final String[] messages;
+    private final boolean[] errors;
+
+    // Next slot to claim for producers
+    private final AtomicLong tail = new AtomicLong();
+
+    // Next slot to read, only touched by the consumer
+    private long head = 0;
+
+    /**
+     * @param capacity Number of slots, rounded up to a power of two
+     */
+    LogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        mask = size - 1;
+        sequences = new AtomicLongArray(size);
+        timestamps = new long[size];
+        prefixes = new String[size];
+        messages = new String[size];
+        errors = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an entry without blocking
+     * @return false if the buffer is full and the entry was not stored
+     */
+    boolean offer(long timeMillis, String prefix, String message, boolean error) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+        }
+
+        timestamps[index] = timeMillis;
+        prefixes[index] = prefix;
+        messages[index] = message;
+        errors[index] = error;
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Hands up to maxEntries queued entries to the handler, oldest first
+     * @return Number of entries drained
+     */
+    int drain(EntryHandler handler, int maxEntries) {
+        int count = 0;
+        while (count < maxEntries) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+
+            handler.onEntry(timestamps[index], prefixes[index], messages[index], errors[index]);
+
+            // Drop references so old messages can be collected
+            prefixes[index] = null;
+            messages[index] = null;
+            sequences.lazySet(index, head + mask + 1);
+            head++;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return Number of slots in the buffer
+     */
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -1,11 +1,16 @@
 package frc.robot.utilities.logger;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.io.FileOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.PrintStream;
 import java.io.IOException;
 import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.function.Supplier;
 
 public class LoggingSystem {
     // ANSI Color codes
@@ -24,6 +29,30 @@ public class LoggingSystem {
     public static final String ITALICS = "\033[3m";
     public static final String UNDERLINE = "\033[4m";
 
+    // Level prefixes, built once instead of on every call
+    static final String INFO_PREFIX = BOLD + GREEN + "[INFO] ";
+    static final String WARN_PREFIX = YELLOW + "[WARN] ";
+    static final String ERROR_PREFIX = RED + "[ERROR] ";
+    static final String AUTONOMOUS_PREFIX = PURPLE + "[AUTONOMOUS] ";
+    static final String TELEOP_PREFIX = CYAN + "[TELEOP] ";
+    static final String TEST_PREFIX = YELLOW + "[TEST] ";
+
+    // Log file rotation defaults
+    public static final long MAX_LOG_FILE_BYTES = 10 * 1024 * 1024;
+    public static final long MAX_LOG_FILE_AGE_MILLIS = 30 * 60 * 1000;
+    public static final int MAX_LOG_FILES = 50;
+
+    // Default queue size for asynchronous logging
+    public static final int DEFAULT_ASYNC_CAPACITY = 4096;
+
+    // Severity levels, mode messages count as INFO
+    public enum Level {
+        INFO, WARN, ERROR
+    }
+
+    // Messages below this level are skipped before any string is built
+    private static volatile Level minimumLevel = Level.INFO;
+
     // Mode info class
     public static class ModeInfo {
         public String color;
@@ -42,32 +71,65 @@ public class LoggingSystem {
     private static PrintStream logFile;
     private static PrintStream originalOut;
     private static PrintStream originalErr;
+    private static RotatingLogOutputStream logOutput;
+
+    // Start time of this run, used to name the log and telemetry files of a session
+    private static final String SESSION_NAME = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+
+    // Background writer, null while logging synchronously
+    private static volatile AsyncLogWriter asyncWriter;
+    private static boolean shutdownHookAdded = false;
+
+    // Timestamp format, shared because building a formatter is expensive
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final ZoneId ZONE = ZoneId.systemDefault();
 
     // Get current timestamp with milliseconds
     private static String currentTime() {
-        LocalDateTime now = LocalDateTime.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
-        return now.format(formatter);
+        return LocalDateTime.now().format(TIME_FORMAT);
+    }
+
+    // Append one formatted log line including the line break
+    static void appendLine(StringBuilder builder, long timeMillis, String prefix, String message) {
+        builder.append('[');
+        TIME_FORMAT.formatTo(LocalDateTime.ofInstant(Instant.ofEpochMilli(timeMillis), ZONE), builder);
+        builder.append("] ").append(prefix).append(RESET).append(message).append(System.lineSeparator());
+    }
+
+    // Folder for robot.log and telemetry, based on the environment
+    public static File getLogDirectory() {
+        if (new File("/home/pi").exists()) {
+            return new File("/home/pi");
+        }
+        // Fallback for development/testing on Windows
+        return new File(System.getProperty("user.home"));
+    }
+
+    // Name shared by all log and telemetry files of this run
+    public static String getSessionName() {
+        return SESSION_NAME;
+    }
+
+    // File currently written to, null before setupLogging
+    public static File getLogFile() {
+        return logOutput != null ? logOutput.getCurrentFile() : null;
     }
 
     // Setup logging to redirect output to file
     public static void setupLogging() {
+        setupLogging(MAX_LOG_FILE_BYTES, MAX_LOG_FILE_AGE_MILLIS, MAX_LOG_FILES);
+    }
+
+    public static void setupLogging(long maxFileBytes, long maxFileAgeMillis, int maxFiles) {
         try {
             // Store original streams
             originalOut = System.out;
             originalErr = System.err;
 
-            // Try different log file locations based on the environment
-            String logPath;
-            if (new File("/home/pi").exists()) {
-                logPath = "/home/pi/robot.log";
-            } else {
-                // Fallback for development/testing on Windows
-                logPath = System.getProperty("user.home") + "/robot.log";
-            }
-
-            // Create log file and append to it
-            logFile = new PrintStream(new FileOutputStream(logPath, true));
+            // Create the session log file, rotated by size and age and buffered so a batch becomes a single write
+            logOutput = new RotatingLogOutputStream(getLogDirectory(), SESSION_NAME, maxFileBytes, maxFileAgeMillis, maxFiles);
+            logFile = new PrintStream(new BufferedOutputStream(logOutput, 64 * 1024), true);
+            String logPath = logOutput.getCurrentFile().getPath();
 
             // Redirect System.out and System.err to log file only
             System.setOut(logFile);
@@ -98,8 +160,48 @@ public class LoggingSystem {
         }
     }
 
+    // Move file writes to a background thread so logging never blocks the robot loop
+    public static void enableAsyncLogging() {
+        enableAsyncLogging(DEFAULT_ASYNC_CAPACITY);
+    }
+
+    public static synchronized void enableAsyncLogging(int capacity) {
+        if (asyncWriter != null) {
+            return;
+        }
+        AsyncLogWriter writer = new AsyncLogWriter(capacity);
+        writer.start();
+        asyncWriter = writer;
+        if (!shutdownHookAdded) {
+            // Messages still queued when the JVM exits are written before the file is closed
+            Runtime.getRuntime().addShutdownHook(new Thread(LoggingSystem::closeLogging, "LoggingSystem-shutdown"));
+            shutdownHookAdded = true;
+        }
+        logInfo("Asynchronous logging enabled - queue capacity " + writer.getCapacity());
+    }
+
+    // Write everything still queued and go back to synchronous logging
+    public static synchronized void disableAsyncLogging() {
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null) {
+            asyncWriter = null;
+            writer.shutdown();
+        }
+    }
+
+    public static boolean isAsyncLogging() {
+        return asyncWriter != null;
+    }
+
+    // Number of messages lost because the async queue was full
+    public static long getDroppedMessageCount() {
+        AsyncLogWriter writer = asyncWriter;
+        return writer != null ? writer.getDroppedCount() : 0;
+    }
+
     // Close logging resources
     public static void closeLogging() {
+        disableAsyncLogging();
         try {
             if (logFile != null) {
                 logFile.close();
@@ -109,33 +211,93 @@ public class LoggingSystem {
         }
     }
 
+    // Level filtering
+    public static void setMinimumLevel(Level level) {
+        minimumLevel = level;
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level.ordinal() >= minimumLevel.ordinal();
+    }
+
     // Default log methods
     public static void logInfo(String message) {
-        System.out.println("[" + currentTime() + "] " + BOLD + GREEN + "[INFO] " + RESET + message);
+        log(Level.INFO, message);
     }
 
     public static void logWarn(String message) {
-        System.out.println("[" + currentTime() + "] " + YELLOW + "[WARN] " + RESET + message);
+        log(Level.WARN, message);
     }
 
     public static void logError(String message) {
-        System.err.println("[" + currentTime() + "] " + RED + "[ERROR] " + RESET + message);
+        log(Level.ERROR, message);
+    }
+
+    // Lazy variants, the supplier only runs if the level is enabled
+    public static void logInfo(Supplier<String> message) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, message.get());
+        }
+    }
+
+    public static void logWarn(Supplier<String> message) {
+        if (isEnabled(Level.WARN)) {
+            log(Level.WARN, message.get());
+        }
+    }
+
+    public static void logError(Supplier<String> message) {
+        if (isEnabled(Level.ERROR)) {
+            log(Level.ERROR, message.get());
+        }
     }
 
     // Mode-specific log methods
     public static void logAutonomous(String message) {
-        System.out.println("[" + currentTime() + "] " + PURPLE + "[AUTONOMOUS] " + RESET + message);
+        log(Level.INFO, AUTONOMOUS_PREFIX, message, false);
     }
 
     public static void logTeleop(String message) {
-        System.out.println("[" + currentTime() + "] " + CYAN + "[TELEOP] " + RESET + message);
+        log(Level.INFO, TELEOP_PREFIX, message, false);
     }
 
     public static void logTest(String message) {
-        System.out.println("[" + currentTime() + "] " + YELLOW + "[TEST] " + RESET + message);
+        log(Level.INFO, TEST_PREFIX, message, false);
     }
 
     public static void logDisabled(String message) {
-        System.out.println("[" + currentTime() + "] " + lastMode.color + lastMode.name + RESET + message);
+        log(Level.INFO, lastMode.color + lastMode.name, message, false);
+    }
+
+    // Log with the default prefix of a level
+    static void log(Level level, String message) {
+        switch (level) {
+            case WARN:
+                log(level, WARN_PREFIX, message, false);
+                break;
+            case ERROR:
+                log(level, ERROR_PREFIX, message, true);
+                break;
+            default:
+                log(level, INFO_PREFIX, message, false);
+                break;
+        }
+    }
+
+    // Queue the message when logging asynchronously, otherwise write it right away
+    private static void log(Level level, String prefix, String message, boolean error) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        long timeMillis = System.currentTimeMillis();
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.enqueue(timeMillis, prefix, message, error);
+            return;
+        }
+
+        StringBuilder line = new StringBuilder(64 + message.length());
+        appendLine(line, timeMillis, prefix, message);
+        (error ? System.err : System.out).print(line);
     }
 }
\ No newline at end of file
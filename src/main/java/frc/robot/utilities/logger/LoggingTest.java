@@ -22,20 +22,23 @@ public class LoggingTest {
         System.out.println("This is a regular System.out.println message - should be in log file");
         System.err.println("This is a regular System.err.println message - should be in log file");
 
+        // Test asynchronous logging with a burst larger than the queue
+        LoggingSystem.enableAsyncLogging(256);
+        for (int i = 0; i < 1000; i++) {
+            LoggingSystem.logInfo("Async message " + i);
+        }
+        long dropped = LoggingSystem.getDroppedMessageCount();
+        LoggingSystem.disableAsyncLogging();
+        LoggingSystem.logWarn("Async burst finished - dropped messages: " + dropped);
+
         // Close logging
         LoggingSystem.closeLogging();
 
         // Restore original streams to see console output again
         LoggingSystem.restoreOriginalStreams();
-        System.out.println("Logging test completed! Check the robot.log file in your home directory.");
+        System.out.println("Logging test completed! Check the robot-" + LoggingSystem.getSessionName() + " log files in your home directory.");
 
         // Print the log file location
-        String logPath;
-        if (new java.io.File("/home/pi").exists()) {
-            logPath = "/home/pi/robot.log";
-        } else {
-            logPath = System.getProperty("user.home") + "/robot.log";
-        }
-        System.out.println("Log file location: " + logPath);
+        System.out.println("Log file location: " + LoggingSystem.getLogFile());
     }
 }
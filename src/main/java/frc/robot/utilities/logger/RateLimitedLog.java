@@ -0,0 +1,179 @@
+package frc.robot.utilities.logger;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Rate limiter and repeat filter for one logging call site.
+ *
+ * <p>Keep one instance per call site in a field. Within the interval
+ * messages are only counted, and a message identical to the last one is
+ * held back until the repeat window has passed. The count is appended to
+ * the next message that gets through. Messages are only built when they
+ * will actually be written. flushAll() writes the counts still held back
+ * by every instance, call it periodically so trailing counts aren't lost.
+ * Instances are registered weakly, so an instance owned by a discarded
+ * object is collected with it and dropped from flushAll().
+ */
+public class RateLimitedLog {
+
+    // Identical messages are written at most once per window
+    public static final long DEFAULT_REPEAT_WINDOW_MILLIS = 5000;
+
+    // Every live instance, for flushAll(), guarded by itself
+    private static final List<WeakReference<RateLimitedLog>> INSTANCES = new ArrayList<>();
+
+    private final long intervalNanos;
+    private final long repeatWindowNanos;
+
+    private long lastCheckNanos;
+    private long lastWriteNanos;
+    private boolean checked = false;
+    private String lastMessage;
+    private LoggingSystem.Level lastLevel = LoggingSystem.Level.INFO;
+    private int suppressed = 0;
+
+    /**
+     * @param intervalMillis Minimum time between two messages from this call site
+     */
+    public RateLimitedLog(long intervalMillis) {
+        this(intervalMillis, DEFAULT_REPEAT_WINDOW_MILLIS);
+    }
+
+    /**
+     * @param intervalMillis Minimum time between two messages from this call site
+     * @param repeatWindowMillis Time an identical message stays suppressed
+     */
+    public RateLimitedLog(long intervalMillis, long repeatWindowMillis) {
+        intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        repeatWindowNanos = TimeUnit.MILLISECONDS.toNanos(repeatWindowMillis);
+        synchronized (INSTANCES) {
+            INSTANCES.add(new WeakReference<>(this));
+        }
+    }
+
+    // ===== LOG METHODS =====
+    public void info(String message) {
+        log(LoggingSystem.Level.INFO, message, null, 0, false);
+    }
+
+    public void info(Supplier<String> message) {
+        log(LoggingSystem.Level.INFO, null, message, 0, false);
+    }
+
+    /**
+     * Logs text followed by value, concatenated only if the message is written
+     */
+    public void info(String text, double value) {
+        log(LoggingSystem.Level.INFO, text, null, value, true);
+    }
+
+    public void warn(String message) {
+        log(LoggingSystem.Level.WARN, message, null, 0, false);
+    }
+
+    public void warn(Supplier<String> message) {
+        log(LoggingSystem.Level.WARN, null, message, 0, false);
+    }
+
+    public void warn(String text, double value) {
+        log(LoggingSystem.Level.WARN, text, null, value, true);
+    }
+
+    public void error(String message) {
+        log(LoggingSystem.Level.ERROR, message, null, 0, false);
+    }
+
+    public void error(Supplier<String> message) {
+        log(LoggingSystem.Level.ERROR, null, message, 0, false);
+    }
+
+    public void error(String text, double value) {
+        log(LoggingSystem.Level.ERROR, text, null, value, true);
+    }
+
+    /**
+     * Writes the number of messages still held back, if any
+     */
+    public synchronized void flush() {
+        if (suppressed > 0 && lastMessage != null) {
+            LoggingSystem.log(lastLevel, lastMessage + " (" + suppressed + " similar messages suppressed)");
+            suppressed = 0;
+            lastWriteNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Flushes every instance and forgets the collected ones
+     */
+    public static void flushAll() {
+        synchronized (INSTANCES) {
+            int i = 0;
+            while (i < INSTANCES.size()) {
+                RateLimitedLog log = INSTANCES.get(i).get();
+                if (log == null) {
+                    // Order doesn't matter, move the last entry into the gap
+                    int last = INSTANCES.size() - 1;
+                    INSTANCES.set(i, INSTANCES.get(last));
+                    INSTANCES.remove(last);
+                } else {
+                    log.flush();
+                    i++;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Messages counted but not written since the last written message
+     */
+    public synchronized int getSuppressedCount() {
+        return suppressed;
+    }
+
+    private synchronized void log(LoggingSystem.Level level, String text, Supplier<String> supplier,
+            double value, boolean hasValue) {
+        if (!LoggingSystem.isEnabled(level)) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (checked && now - lastCheckNanos < intervalNanos) {
+            suppressed++;
+            return;
+        }
+        checked = true;
+        lastCheckNanos = now;
+
+        String message;
+        if (supplier != null) {
+            message = supplier.get();
+        } else if (hasValue) {
+            message = text + value;
+        } else {
+            message = text;
+        }
+
+        boolean repeated = message.equals(lastMessage);
+        if (repeated && now - lastWriteNanos < repeatWindowNanos) {
+            suppressed++;
+            return;
+        }
+
+        if (suppressed > 0) {
+            LoggingSystem.log(level, repeated
+                    ? message + " (message repeated " + suppressed + " times)"
+                    : message + " (" + suppressed + " similar messages suppressed)");
+        } else {
+            LoggingSystem.log(level, message);
+        }
+
+        suppressed = 0;
+        lastMessage = message;
+        lastLevel = level;
+        lastWriteNanos = now;
+    }
+}
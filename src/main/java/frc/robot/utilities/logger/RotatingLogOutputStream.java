@@ -0,0 +1,165 @@
+package frc.robot.utilities.logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Log file output that rotates by size and age.
+ *
+ * <p>Files are named robot-&lt;session&gt;-&lt;part&gt;.log, so the log of a
+ * match is found by its start time. Finished parts are gzipped on a
+ * low-priority background thread and only the newest files are kept.
+ * Rotation only happens on flush, so a line is never split across files.
+ */
+public class RotatingLogOutputStream extends OutputStream {
+
+    public static final String FILE_PREFIX = "robot-";
+    public static final String FILE_SUFFIX = ".log";
+    public static final String COMPRESSED_SUFFIX = ".log.gz";
+
+    private final File directory;
+    private final String sessionName;
+    private final long maxBytes;
+    private final long maxAgeMillis;
+    private final int maxFiles;
+
+    // Compression and cleanup run here so the writing thread never waits for them
+    private final ExecutorService background = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "LoggingSystem-compressor");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private FileOutputStream current;
+    private volatile File currentFile;
+    private int part = -1;
+    private long bytesWritten;
+    private long openedMillis;
+
+    /**
+     * @param directory Folder for the log files
+     * @param sessionName Name shared by all parts of this session
+     * @param maxBytes Size that triggers rotation
+     * @param maxAgeMillis Age that triggers rotation
+     * @param maxFiles Number of log files kept across all sessions
+     */
+    public RotatingLogOutputStream(File directory, String sessionName, long maxBytes, long maxAgeMillis, int maxFiles)
+            throws IOException {
+        this.directory = directory;
+        this.sessionName = sessionName;
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+        this.maxFiles = maxFiles;
+
+        openNextPart();
+
+        // Compress anything left over from earlier sessions and apply the retention limit
+        background.execute(this::compressLeftovers);
+    }
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+        current.write(b);
+        bytesWritten++;
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+        current.write(bytes, offset, length);
+        bytesWritten += length;
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        current.flush();
+        if (bytesWritten > 0
+                && (bytesWritten >= maxBytes || System.currentTimeMillis() - openedMillis >= maxAgeMillis)) {
+            rotate();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        current.close();
+        background.shutdown();
+    }
+
+    /**
+     * @return The file currently written to
+     */
+    public synchronized File getCurrentFile() {
+        return currentFile;
+    }
+
+    private void rotate() throws IOException {
+        File finished = currentFile;
+        current.close();
+        openNextPart();
+        background.execute(() -> {
+            compress(finished);
+            enforceRetention();
+        });
+    }
+
+    private void openNextPart() throws IOException {
+        part++;
+        currentFile = new File(directory, FILE_PREFIX + sessionName + "-" + String.format("%03d", part) + FILE_SUFFIX);
+        current = new FileOutputStream(currentFile, true);
+        bytesWritten = currentFile.length();
+        openedMillis = System.currentTimeMillis();
+    }
+
+    // ===== BACKGROUND WORK =====
+    private void compressLeftovers() {
+        File[] files = listLogFiles();
+        for (File file : files) {
+            if (file.getName().endsWith(FILE_SUFFIX) && !file.getName().startsWith(FILE_PREFIX + sessionName)) {
+                compress(file);
+            }
+        }
+        enforceRetention();
+    }
+
+    private static void compress(File file) {
+        File target = new File(file.getPath() + ".gz");
+        try (InputStream in = new FileInputStream(file);
+                OutputStream out = new GZIPOutputStream(new FileOutputStream(target), 64 * 1024)) {
+            byte[] chunk = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(chunk)) > 0) {
+                out.write(chunk, 0, read);
+            }
+        } catch (IOException e) {
+            // Keep the uncompressed file if compression fails
+            target.delete();
+            return;
+        }
+        file.delete();
+    }
+
+    private void enforceRetention() {
+        File[] files = listLogFiles();
+        // Names start with the session time, so sorting by name sorts oldest first
+        Arrays.sort(files);
+        for (int i = 0; i < files.length - maxFiles; i++) {
+            if (!files[i].equals(currentFile)) {
+                files[i].delete();
+            }
+        }
+    }
+
+    private File[] listLogFiles() {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(FILE_PREFIX)
+                && (name.endsWith(FILE_SUFFIX) || name.endsWith(COMPRESSED_SUFFIX)));
+        return files != null ? files : new File[0];
+    }
+}
@@ -0,0 +1,145 @@
+package frc.robot.utilities.servo;
+
+import edu.wpi.first.wpilibj.Servo;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
+
+import java.util.Arrays;
+
+/**
+ * Shared, coalescing output stage for all PWM servos.
+ *
+ * <p>set() only stores the command for the servo's slot. flush() writes each
+ * slot whose command differs from the value last written, once per loop, so
+ * repeated sets in one cycle cost one PWM write and unchanged commands cost
+ * none. get() returns the cached command without touching the hardware.
+ * Call everything from the robot loop thread.
+ */
+public final class ServoBank {
+
+    // Slot for a servo that could not be created, commands to it are dropped
+    public static final int NO_SLOT = -1;
+
+    private static Servo[] servos = new Servo[8];
+    private static int[] ports = new int[8];
+    private static double[] commanded = new double[8];
+    private static double[] written = new double[8];
+    private static boolean[] everWritten = new boolean[8];
+    private static boolean[] pending = new boolean[8];
+    private static int count = 0;
+
+    // Statistics
+    private static long requestedWrites = 0;
+    private static long issuedWrites = 0;
+
+    private ServoBank() {
+    }
+
+    // ===== REGISTRATION =====
+
+    /**
+     * Creates the servo on the port, or returns the existing slot if it is already registered
+     * @param port PWM port of the servo
+     * @return Slot to pass to set() and get()
+     */
+    public static int register(int port) {
+        for (int slot = 0; slot < count; slot++) {
+            if (ports[slot] == port) {
+                return slot;
+            }
+        }
+
+        Servo servo = new Servo(port);
+        if (count == servos.length) {
+            int size = count * 2;
+            servos = Arrays.copyOf(servos, size);
+            ports = Arrays.copyOf(ports, size);
+            commanded = Arrays.copyOf(commanded, size);
+            written = Arrays.copyOf(written, size);
+            everWritten = Arrays.copyOf(everWritten, size);
+            pending = Arrays.copyOf(pending, size);
+        }
+        servos[count] = servo;
+        ports[count] = port;
+        return count++;
+    }
+
+    // ===== OUTPUT METHODS =====
+
+    /**
+     * Stores the command for the slot, written on the next flush(). Commands for NO_SLOT are ignored.
+     * @param value Servo position from 0.0 to 1.0
+     */
+    public static void set(int slot, double value) {
+        if (slot < 0) {
+            return;
+        }
+        requestedWrites++;
+        commanded[slot] = Math.max(0.0, Math.min(1.0, value));
+        pending[slot] = true;
+    }
+
+    /**
+     * @return Last commanded position of the slot, 0 for NO_SLOT
+     */
+    public static double get(int slot) {
+        return slot < 0 ? 0.0 : commanded[slot];
+    }
+
+    /**
+     * Steps the profile and commands its position while it is moving, or until the servo
+     * got its first command, so a target equal to the profile's start still reaches it. Call every loop.
+     */
+    public static void follow(int slot, TrapezoidalProfile profile, long nowNanos) {
+        boolean moving = !profile.isFinished();
+        double position = profile.update(nowNanos);
+        if (moving || (slot >= 0 && !everWritten[slot])) {
+            set(slot, position);
+        }
+    }
+
+    /**
+     * Writes every changed command to its servo. Call once per loop, after all subsystems ran.
+     */
+    public static void flush() {
+        for (int slot = 0; slot < count; slot++) {
+            if (!pending[slot]) {
+                continue;
+            }
+            pending[slot] = false;
+            double value = commanded[slot];
+            if (everWritten[slot] && written[slot] == value) {
+                continue;
+            }
+            servos[slot].set(value);
+            written[slot] = value;
+            everWritten[slot] = true;
+            issuedWrites++;
+        }
+    }
+
+    // ===== STATISTICS =====
+
+    public static void publishStats() {
+        DashboardPublisher.putNumber("Servo Writes Issued", issuedWrites);
+        DashboardPublisher.putNumber("Servo Writes Suppressed", getSuppressedWrites());
+    }
+
+    public static long getRequestedWrites() {
+        return requestedWrites;
+    }
+
+    public static long getIssuedWrites() {
+        return issuedWrites;
+    }
+
+    /**
+     * @return set() calls that did not need a PWM write of their own
+     */
+    public static long getSuppressedWrites() {
+        return Math.max(0, requestedWrites - issuedWrites);
+    }
+
+    public static int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,247 @@
+package frc.robot.utilities.servo;
+
+import edu.wpi.first.wpilibj.Filesystem;
+import frc.robot.utilities.logger.LoggingSystem;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measured mapping between a servo command and the physical position it produces.
+ *
+ * <p>Points are kept in deploy/calibration/&lt;name&gt;.csv as "physical,servo"
+ * rows. They are compiled into dense lookup tables in both directions, so
+ * a conversion is one index calculation and one lerp. New tables are swapped
+ * in as a whole, so readers never see a half-compiled table.
+ */
+public class ServoCalibration {
+
+    public static final String DIRECTORY = "calibration";
+    private static final int TABLE_SIZE = 1024;
+
+    /**
+     * Compiled lookup tables, immutable once published
+     */
+    private static final class Tables {
+        final float[] toServo = new float[TABLE_SIZE];
+        final float[] toPhysical = new float[TABLE_SIZE];
+        double minPhysical;
+        double physicalScale; // table entries per physical unit
+    }
+
+    private final String name;
+    private volatile Tables tables;
+    private double[] physicalPoints;
+    private double[] servoPoints;
+    private int version = 0;
+
+    /**
+     * Creates a linear calibration between two end points
+     * @param physicalAtMin Physical value at servo 0.0
+     * @param physicalAtMax Physical value at servo 1.0
+     */
+    public ServoCalibration(String name, double physicalAtMin, double physicalAtMax) {
+        this.name = name;
+        setPoints(new double[] { physicalAtMin, physicalAtMax }, new double[] { 0.0, 1.0 });
+    }
+
+    /**
+     * Loads the calibration from the deploy directory, or falls back to a linear one
+     */
+    public static ServoCalibration load(String name, double physicalAtMin, double physicalAtMax) {
+        ServoCalibration calibration = new ServoCalibration(name, physicalAtMin, physicalAtMax);
+        File file = calibration.getFile();
+        if (!file.exists()) {
+            LoggingSystem.logWarn("No calibration for " + name + " - using a linear mapping");
+            return calibration;
+        }
+        try {
+            calibration.read(file);
+            LoggingSystem.logInfo("Loaded " + calibration.physicalPoints.length + " calibration points for " + name);
+        } catch (IOException | RuntimeException e) {
+            LoggingSystem.logError("Calibration " + file + " could not be read: " + e.getMessage());
+        }
+        return calibration;
+    }
+
+    // ===== CONVERSIONS =====
+
+    /**
+     * @return Servo command for a physical position, clamped to the calibrated range
+     */
+    public double toServo(double physical) {
+        Tables t = tables;
+        return lookup(t.toServo, (physical - t.minPhysical) * t.physicalScale);
+    }
+
+    /**
+     * @return Physical position for a servo command from 0.0 to 1.0
+     */
+    public double toPhysical(double servo) {
+        return lookup(tables.toPhysical, servo * (TABLE_SIZE - 1));
+    }
+
+    private static double lookup(float[] table, double index) {
+        if (index <= 0) {
+            return table[0];
+        }
+        if (index >= TABLE_SIZE - 1) {
+            return table[TABLE_SIZE - 1];
+        }
+        int i = (int) index;
+        double fraction = index - i;
+        return table[i] + (table[i + 1] - table[i]) * fraction;
+    }
+
+    // ===== POINTS =====
+
+    /**
+     * Replaces the measured points and compiles new tables
+     * @param physical Measured physical positions
+     * @param servo Servo commands that produced them
+     */
+    public void setPoints(double[] physical, double[] servo) {
+        if (physical.length != servo.length || physical.length < 2) {
+            throw new IllegalArgumentException("A calibration needs at least two matching points");
+        }
+        double[] byPhysicalX = physical.clone();
+        double[] byPhysicalY = servo.clone();
+        sortByFirst(byPhysicalX, byPhysicalY);
+        double[] byServoX = servo.clone();
+        double[] byServoY = physical.clone();
+        sortByFirst(byServoX, byServoY);
+        if (byPhysicalX[0] == byPhysicalX[byPhysicalX.length - 1]) {
+            throw new IllegalArgumentException("Calibration points must cover a physical range");
+        }
+
+        Tables t = new Tables();
+        t.minPhysical = byPhysicalX[0];
+        t.physicalScale = (TABLE_SIZE - 1) / (byPhysicalX[byPhysicalX.length - 1] - t.minPhysical);
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            t.toServo[i] = (float) interpolate(byPhysicalX, byPhysicalY, t.minPhysical + i / t.physicalScale);
+            t.toPhysical[i] = (float) interpolate(byServoX, byServoY, (double) i / (TABLE_SIZE - 1));
+        }
+
+        physicalPoints = byPhysicalX;
+        servoPoints = byPhysicalY;
+        tables = t;
+        version++;
+    }
+
+    /**
+     * Piecewise linear interpolation through sorted points, clamped at the ends
+     */
+    private static double interpolate(double[] xs, double[] ys, double x) {
+        if (x <= xs[0]) {
+            return ys[0];
+        }
+        for (int i = 1; i < xs.length; i++) {
+            if (x <= xs[i]) {
+                double span = xs[i] - xs[i - 1];
+                return span == 0 ? ys[i] : ys[i - 1] + (ys[i] - ys[i - 1]) * (x - xs[i - 1]) / span;
+            }
+        }
+        return ys[ys.length - 1];
+    }
+
+    private static void sortByFirst(double[] keys, double[] values) {
+        for (int i = 1; i < keys.length; i++) {
+            double key = keys[i];
+            double value = values[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    // ===== PERSISTENCE =====
+    public File getFile() {
+        return new File(new File(Filesystem.getDeployDirectory(), DIRECTORY), name + ".csv");
+    }
+
+    private void read(File file) throws IOException {
+        List<double[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || Character.isLetter(line.charAt(0))) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length < 2) {
+                    throw new IOException("Bad calibration row: " + line);
+                }
+                rows.add(new double[] { Double.parseDouble(fields[0].trim()), Double.parseDouble(fields[1].trim()) });
+            }
+        }
+        double[] physical = new double[rows.size()];
+        double[] servo = new double[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            physical[i] = rows.get(i)[0];
+            servo[i] = rows.get(i)[1];
+        }
+        setPoints(physical, servo);
+    }
+
+    /**
+     * Writes the points to the deploy directory. Copy the file into
+     * src/main/deploy/calibration to keep it across deploys.
+     */
+    public void save() throws IOException {
+        File file = getFile();
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        try (Writer out = new FileWriter(file)) {
+            out.write("# " + name + " servo calibration\n");
+            out.write("physical,servo\n");
+            for (int i = 0; i < physicalPoints.length; i++) {
+                out.write(physicalPoints[i] + "," + servoPoints[i] + "\n");
+            }
+        }
+        LoggingSystem.logInfo("Saved " + physicalPoints.length + " calibration points for " + name + " to " + file);
+    }
+
+    // ===== INFORMATION =====
+
+    /**
+     * @return True if the physical value lies within the calibrated points
+     */
+    public boolean contains(double physical) {
+        return physical >= physicalPoints[0] && physical <= physicalPoints[physicalPoints.length - 1];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPointCount() {
+        return physicalPoints.length;
+    }
+
+    /**
+     * @return Counter that changes whenever new points are compiled
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return name + " calibration " + Arrays.toString(physicalPoints) + " -> " + Arrays.toString(servoPoints);
+    }
+}
@@ -0,0 +1,112 @@
+package frc.robot.utilities.servo;
+
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
+
+import java.util.Arrays;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Dashboard-driven routine that records calibration points for one servo at a time.
+ *
+ * <p>Start a session for a servo, jog it with the controller, measure where
+ * it actually is, type the value into "Calibration Measured Value" and record
+ * the point, which clears the value for the next one. Saving compiles the
+ * points into the servo's lookup tables and writes them to the deploy
+ * directory.
+ */
+public class ServoCalibrator {
+
+    public static final String MEASURED_VALUE_KEY = "Calibration Measured Value";
+    private static final int MAX_POINTS = 32;
+
+    private ServoCalibration calibration;
+    private DoubleSupplier servoPosition;
+    private final double[] physical = new double[MAX_POINTS];
+    private final double[] servo = new double[MAX_POINTS];
+    private int count = 0;
+
+    public ServoCalibrator() {
+        clearMeasuredValue();
+        publish();
+    }
+
+    /**
+     * Starts a new session, discarding points of an unsaved one
+     * @param servoPosition Current command of the servo being calibrated
+     */
+    public void start(ServoCalibration calibration, DoubleSupplier servoPosition) {
+        this.calibration = calibration;
+        this.servoPosition = servoPosition;
+        count = 0;
+        clearMeasuredValue();
+        LoggingSystem.logInfo("Calibrating " + calibration.getName()
+                + " - jog the servo, enter the measured value and record each point");
+        publish();
+    }
+
+    /**
+     * Records the current servo command against the measured value on the dashboard
+     */
+    public void recordPoint() {
+        if (calibration == null) {
+            LoggingSystem.logWarn("No calibration started");
+            return;
+        }
+        if (count == MAX_POINTS) {
+            LoggingSystem.logWarn("Calibration is full at " + MAX_POINTS + " points");
+            return;
+        }
+        double measured = SmartDashboard.getNumber(MEASURED_VALUE_KEY, Double.NaN);
+        if (Double.isNaN(measured)) {
+            LoggingSystem.logWarn("Enter the measured value before recording a point");
+            return;
+        }
+        physical[count] = measured;
+        servo[count] = servoPosition.getAsDouble();
+        count++;
+        clearMeasuredValue();
+        LoggingSystem.logInfo("Calibration point " + count + " for " + calibration.getName()
+                + ": servo " + servo[count - 1] + " -> " + measured);
+        publish();
+    }
+
+    /**
+     * Empties the measured value, so every point needs a freshly entered measurement
+     */
+    private static void clearMeasuredValue() {
+        SmartDashboard.putNumber(MEASURED_VALUE_KEY, Double.NaN);
+    }
+
+    /**
+     * Compiles and saves the recorded points, then ends the session
+     */
+    public void save() {
+        if (calibration == null) {
+            LoggingSystem.logWarn("No calibration started");
+            return;
+        }
+        try {
+            calibration.setPoints(Arrays.copyOf(physical, count), Arrays.copyOf(servo, count));
+            calibration.save();
+            calibration = null;
+        } catch (Exception e) {
+            LoggingSystem.logError("Calibration could not be saved: " + e.getMessage());
+        }
+        publish();
+    }
+
+    public void cancel() {
+        if (calibration != null) {
+            LoggingSystem.logInfo("Calibration of " + calibration.getName() + " cancelled");
+            calibration = null;
+        }
+        publish();
+    }
+
+    private void publish() {
+        DashboardPublisher.putString("Calibration Servo", calibration == null ? "none" : calibration.getName());
+        DashboardPublisher.putNumber("Calibration Points", calibration == null ? 0 : count);
+    }
+}
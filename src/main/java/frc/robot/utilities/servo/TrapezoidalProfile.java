@@ -0,0 +1,136 @@
+package frc.robot.utilities.servo;
+
+/**
+ * Trapezoidal motion profile for one servo, stepped once per loop.
+ *
+ * <p>Each step accelerates toward the target at most maxAcceleration, cruises
+ * at most maxVelocity and brakes so it stops exactly on the target. The
+ * target can change at any time; the profile continues from its current
+ * position and velocity, so a target moved behind a moving servo is
+ * overshot while braking. Positions use the servo range 0.0 to 1.0.
+ * All state is in primitive fields, stepping never allocates.
+ */
+public class TrapezoidalProfile {
+
+    // Longer gaps between steps (e.g. after being disabled) are treated as this long
+    private static final double MAX_STEP_SECONDS = 0.05;
+
+    // Closer than this with a slower speed counts as arrived
+    private static final double POSITION_TOLERANCE = 1e-4;
+    private static final double VELOCITY_TOLERANCE = 1e-3;
+
+    private double maxVelocity;
+    private double maxAcceleration;
+
+    private double position;
+    private double velocity = 0.0;
+    private double target;
+    private long lastUpdateNanos = 0;
+
+    /**
+     * @param maxVelocity Maximum speed (servo range per second)
+     * @param maxAcceleration Maximum acceleration (servo range per second squared)
+     * @param initialPosition Position the servo starts at
+     */
+    public TrapezoidalProfile(double maxVelocity, double maxAcceleration, double initialPosition) {
+        setLimits(maxVelocity, maxAcceleration);
+        this.position = initialPosition;
+        this.target = initialPosition;
+    }
+
+    /**
+     * Changes the limits, so one profile can be reused for moves with different limits
+     */
+    public void setLimits(double maxVelocity, double maxAcceleration) {
+        if (maxVelocity <= 0 || maxAcceleration <= 0) {
+            throw new IllegalArgumentException("Profile limits must be positive");
+        }
+        this.maxVelocity = maxVelocity;
+        this.maxAcceleration = maxAcceleration;
+    }
+
+    /**
+     * Jumps to the position and stops there, e.g. after the servo was commanded directly.
+     * The next update() starts timing afresh.
+     */
+    public void reset(double newPosition) {
+        position = newPosition;
+        target = newPosition;
+        velocity = 0.0;
+        lastUpdateNanos = 0;
+    }
+
+    public void setTarget(double newTarget) {
+        target = newTarget;
+    }
+
+    /**
+     * Steps the profile by the time since the previous update
+     * @return Position to command
+     */
+    public double update(long nowNanos) {
+        double dt = lastUpdateNanos == 0 ? 0.0 : Math.min(MAX_STEP_SECONDS, (nowNanos - lastUpdateNanos) / 1e9);
+        lastUpdateNanos = nowNanos;
+        return step(dt);
+    }
+
+    /**
+     * Advances the profile by dt seconds
+     * @return Position to command
+     */
+    public double step(double dt) {
+        double error = target - position;
+        if (Math.abs(error) < POSITION_TOLERANCE && Math.abs(velocity) < VELOCITY_TOLERANCE) {
+            position = target;
+            velocity = 0.0;
+            return position;
+        }
+        if (dt <= 0) {
+            return position;
+        }
+
+        // Fastest speed toward the target that can still brake in time. Braking by maxChange per
+        // step from k * maxChange covers k(k + 1) / 2 steps of maxChange * dt, the rest of the
+        // distance is spread over the k + 1 steps, so a full brake lands exactly on the target.
+        double direction = Math.signum(error);
+        double distance = Math.abs(error);
+        double maxChange = maxAcceleration * dt;
+        double stepDistance = maxChange * dt;
+        double k = Math.floor((Math.sqrt(1.0 + 8.0 * distance / stepDistance) - 1.0) / 2.0);
+        double braking = maxChange * k + (distance - stepDistance * k * (k + 1) / 2.0) / ((k + 1) * dt);
+        double desired = direction * Math.min(maxVelocity, braking);
+
+        double previous = velocity;
+        velocity += Math.max(-maxChange, Math.min(maxChange, desired - velocity));
+        position += velocity * dt;
+
+        // Uneven steps can pass the target slightly, land on it if stopping stays within the
+        // acceleration limit. Otherwise, e.g. when the target moved behind the servo, brake
+        // through the overshoot and come back.
+        if (Math.signum(target - position) != direction && Math.abs(previous) <= maxChange) {
+            position = target;
+            velocity = 0.0;
+        }
+        return position;
+    }
+
+    // ===== STATE =====
+    public double getPosition() {
+        return position;
+    }
+
+    public double getVelocity() {
+        return velocity;
+    }
+
+    public double getTarget() {
+        return target;
+    }
+
+    /**
+     * @return True once the profile has stopped on the target
+     */
+    public boolean isFinished() {
+        return position == target && velocity == 0.0;
+    }
+}
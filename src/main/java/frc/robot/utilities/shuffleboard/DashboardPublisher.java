@@ -0,0 +1,191 @@
+package frc.robot.utilities.shuffleboard;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Change-only, batched SmartDashboard publisher.
+ *
+ * <p>put* calls only store the value in a cached entry. periodic() writes the
+ * entries whose value changed since the last publish, at most once per
+ * publish period, so the dashboard can update at 10 Hz while the loop runs
+ * at 50 Hz. Call everything from the robot loop thread.
+ */
+public final class DashboardPublisher {
+
+    public static final double DEFAULT_PUBLISH_PERIOD = 0.1; // seconds (10 Hz)
+
+    private static final int TYPE_NUMBER = 0;
+    private static final int TYPE_BOOLEAN = 1;
+    private static final int TYPE_STRING = 2;
+
+    /**
+     * Cached NetworkTables handle with the latest and the last published value
+     */
+    private static final class Entry {
+        final NetworkTableEntry handle;
+        final int type;
+        double number;
+        boolean flag;
+        String text;
+        boolean dirty;
+        boolean published = false;
+
+        Entry(String key, int type) {
+            this.handle = SmartDashboard.getEntry(key);
+            this.type = type;
+        }
+    }
+
+    private static final Map<String, Entry> entriesByKey = new HashMap<>();
+    private static final List<Entry> entries = new ArrayList<>();
+
+    private static long publishPeriodNanos = (long) (DEFAULT_PUBLISH_PERIOD * 1e9);
+    private static long lastPublishNanos = 0;
+
+    // Statistics, rates are recalculated once per second
+    private static long requestedWrites = 0;
+    private static long issuedWrites = 0;
+    private static long windowStartNanos = System.nanoTime();
+    private static long windowRequested = 0;
+    private static long windowIssued = 0;
+    private static double requestedPerSecond = 0;
+    private static double issuedPerSecond = 0;
+
+    private DashboardPublisher() {
+    }
+
+    // ===== VALUE METHODS =====
+    public static void putNumber(String key, double value) {
+        Entry entry = entry(key, TYPE_NUMBER);
+        requestedWrites++;
+        // Compare bit patterns so NaN counts as unchanged
+        if (!entry.published || Double.doubleToLongBits(entry.number) != Double.doubleToLongBits(value)) {
+            entry.number = value;
+            entry.dirty = true;
+        }
+    }
+
+    public static void putBoolean(String key, boolean value) {
+        Entry entry = entry(key, TYPE_BOOLEAN);
+        requestedWrites++;
+        if (!entry.published || entry.flag != value) {
+            entry.flag = value;
+            entry.dirty = true;
+        }
+    }
+
+    public static void putString(String key, String value) {
+        Entry entry = entry(key, TYPE_STRING);
+        requestedWrites++;
+        if (!entry.published || !value.equals(entry.text)) {
+            entry.text = value;
+            entry.dirty = true;
+        }
+    }
+
+    private static Entry entry(String key, int type) {
+        Entry entry = entriesByKey.get(key);
+        if (entry == null) {
+            entry = new Entry(key, type);
+            entriesByKey.put(key, entry);
+            entries.add(entry);
+        } else if (entry.type != type) {
+            throw new IllegalArgumentException("Dashboard key " + key + " already used with another type");
+        }
+        return entry;
+    }
+
+    // ===== PUBLISHING =====
+
+    /**
+     * Publishes changed values if the publish period has passed. Call once per loop.
+     */
+    public static void periodic() {
+        long now = System.nanoTime();
+        if (now - lastPublishNanos >= publishPeriodNanos) {
+            lastPublishNanos = now;
+            flush();
+        }
+        updateRates(now);
+    }
+
+    /**
+     * Publishes all changed values right away
+     */
+    public static void flush() {
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (!entry.dirty) {
+                continue;
+            }
+            switch (entry.type) {
+                case TYPE_NUMBER:
+                    entry.handle.setDouble(entry.number);
+                    break;
+                case TYPE_BOOLEAN:
+                    entry.handle.setBoolean(entry.flag);
+                    break;
+                default:
+                    entry.handle.setString(entry.text);
+                    break;
+            }
+            entry.dirty = false;
+            entry.published = true;
+            issuedWrites++;
+        }
+    }
+
+    private static void updateRates(long now) {
+        long elapsed = now - windowStartNanos;
+        if (elapsed < 1_000_000_000L) {
+            return;
+        }
+        double seconds = elapsed / 1e9;
+        requestedPerSecond = (requestedWrites - windowRequested) / seconds;
+        issuedPerSecond = (issuedWrites - windowIssued) / seconds;
+        windowRequested = requestedWrites;
+        windowIssued = issuedWrites;
+        windowStartNanos = now;
+
+        putNumber("Dashboard Writes/s", issuedPerSecond);
+        putNumber("Dashboard Writes Saved/s", getSavedWritesPerSecond());
+    }
+
+    // ===== CONFIGURATION AND STATISTICS =====
+
+    /**
+     * @param seconds Minimum time between two publishes
+     */
+    public static void setPublishPeriod(double seconds) {
+        publishPeriodNanos = (long) (seconds * 1e9);
+    }
+
+    public static double getRequestedWritesPerSecond() {
+        return requestedPerSecond;
+    }
+
+    public static double getIssuedWritesPerSecond() {
+        return issuedPerSecond;
+    }
+
+    /**
+     * @return NetworkTables writes per second avoided compared to writing every put
+     */
+    public static double getSavedWritesPerSecond() {
+        return requestedPerSecond - issuedPerSecond;
+    }
+
+    public static long getRequestedWrites() {
+        return requestedWrites;
+    }
+
+    public static long getIssuedWrites() {
+        return issuedWrites;
+    }
+}
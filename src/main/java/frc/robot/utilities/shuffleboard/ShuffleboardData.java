@@ -1,6 +1,11 @@
 package frc.robot.utilities.shuffleboard;
 
+import frc.robot.subsystems.elevator.ArmSubsystem;
+import frc.robot.subsystems.elevator.ExtenderSubsystem;
+import frc.robot.subsystems.gripper.GripperSubsystem;
+import frc.robot.subsystems.gripper.GripperTiltSubsystem;
 import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.servo.ServoCalibrator;
 import edu.wpi.first.wpilibj.command.InstantCommand;
 import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
@@ -9,7 +14,8 @@ public class ShuffleboardData {
 
     private final ShuffleboardTab commandTab;
 
-    public ShuffleboardData() {
+    public ShuffleboardData(ServoCalibrator calibrator, ArmSubsystem arm, ExtenderSubsystem extender,
+            GripperSubsystem gripper, GripperTiltSubsystem gripperTilt) {
         commandTab = Shuffleboard.getTab("Function Tests");
 
         // calibrate entire robot
@@ -20,24 +26,32 @@ public class ShuffleboardData {
         // elevator arm
         commandTab.add("Elevator Arm", new InstantCommand("Start", () -> {
             LoggingSystem.logInfo("Calibrating Elevator Arm");
-            
+            calibrator.start(arm.getCalibration(), arm::getServoPosition);
         }));
 
         // elevator lift
         commandTab.add("Elevator Lift", new InstantCommand("Start",() -> {
             LoggingSystem.logInfo("Calibrating Elevator Lift");
+            calibrator.start(extender.getCalibration(), extender::getServoPosition);
         }));
 
         // calibrate gripper
         commandTab.add("Gripper", new InstantCommand("Start",() -> {
             LoggingSystem.logInfo("Calibrating Gripper");
+            calibrator.start(gripper.getCalibration(), gripper::getServoPosition);
         }));
 
         // calibrate gripper tilt
         commandTab.add("Gripper Tilt", new InstantCommand("Start",() -> {
             LoggingSystem.logInfo("Calibrating Gripper Tilt");
+            calibrator.start(gripperTilt.getCalibration(), gripperTilt::getServoPosition);
         }));
 
+        // servo calibration steps, after one of the servo calibrations above was started
+        commandTab.add("Calibration Record Point", new InstantCommand("Start", calibrator::recordPoint));
+        commandTab.add("Calibration Save", new InstantCommand("Start", calibrator::save));
+        commandTab.add("Calibration Cancel", new InstantCommand("Start", calibrator::cancel));
+
         // calibrate arm
         commandTab.add("Elevator Rotate", new InstantCommand("Start",() -> {
             LoggingSystem.logInfo("Calibrating Elevator Rotate");
@@ -53,4 +67,11 @@ public class ShuffleboardData {
             LoggingSystem.logInfo("Calculating Positio");
         }));
     }
+
+    /**
+     * Adds a button to the Function Tests tab that runs the action
+     */
+    public void addCommand(String name, Runnable action) {
+        commandTab.add(name, new InstantCommand("Start", action));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,348 @@
+package frc.robot.utilities.telemetry;
+
+import frc.robot.utilities.logger.LoggingSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Compact binary telemetry log written through memory-mapped segment files.
+ *
+ * <p>Values are recorded against channels registered up front. Every entry
+ * carries a monotonic timestamp in nanoseconds since the log was opened.
+ * When a segment is full the log rotates to the next file and repeats the
+ * channel definitions, so every segment can be read on its own.
+ *
+ * <p>Recording does not allocate. Register channels and record from the
+ * robot loop only; these and close() are synchronized so the shutdown hook
+ * can close the log while the loop is still running.
+ */
+public class TelemetryLog implements AutoCloseable {
+
+    // ===== FILE FORMAT =====
+    public static final int MAGIC = 0x544C4D31; // "TLM1"
+    public static final short VERSION = 1;
+    public static final String FILE_PREFIX = "telemetry-";
+    public static final String FILE_SUFFIX = ".bin";
+
+    // Segment header: magic, version, segment index, session start (epoch ms)
+    static final int HEADER_SIZE = 4 + 2 + 4 + 8;
+
+    // Entry header: type, channel, timestamp
+    static final int ENTRY_HEADER_SIZE = 1 + 2 + 8;
+
+    // Entry types, 0 marks the end of the data since new segments are zero filled
+    static final byte TYPE_END = 0;
+    static final byte TYPE_DEFINE = 1;
+    public static final byte TYPE_DOUBLE = 2;
+    public static final byte TYPE_BOOLEAN = 3;
+    public static final byte TYPE_INT = 4;
+    public static final byte TYPE_STRING = 5;
+    public static final byte TYPE_INT_ARRAY = 6;
+
+    public static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+    public static final int DEFAULT_MAX_SEGMENTS = 32;
+
+    // Longest string or array stored in a single entry
+    public static final int MAX_STRING_LENGTH = 1024;
+    public static final int MAX_ARRAY_LENGTH = 1024;
+
+    // Largest entry, an int array of MAX_ARRAY_LENGTH, plus the end marker
+    static final int MAX_ENTRY_SIZE = ENTRY_HEADER_SIZE + 2 + MAX_ARRAY_LENGTH * 4 + 1;
+
+    private final File directory;
+    private final String sessionName;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final long startEpochMillis;
+    private final long startNanos;
+
+    // Registered channels
+    private String[] channelNames = new String[32];
+    private byte[] channelTypes = new byte[32];
+    private int channelCount = 0;
+    // Bytes the definitions take at the start of every segment
+    private int definitionsSize = 0;
+
+    // Current segment
+    private FileChannel fileChannel;
+    private MappedByteBuffer buffer;
+    private int segmentIndex = -1;
+
+    private long entriesWritten = 0;
+
+    /**
+     * Opens a telemetry log named after the current logging session with default segment settings.
+     * The log is closed when the JVM exits, so the last records reach the disk.
+     */
+    public static TelemetryLog open(File directory) throws IOException {
+        TelemetryLog log = new TelemetryLog(directory, LoggingSystem.getSessionName(), DEFAULT_SEGMENT_SIZE,
+                DEFAULT_MAX_SEGMENTS);
+        Runtime.getRuntime().addShutdownHook(new Thread(log::close, "TelemetryLog-shutdown"));
+        return log;
+    }
+
+    /**
+     * @param directory Folder for the segment files
+     * @param sessionName Name shared by the segment files of this session
+     * @param segmentSize Size of each segment file in bytes
+     * @param maxSegments Number of segments kept across all sessions, older ones are deleted (0 keeps all)
+     */
+    public TelemetryLog(File directory, String sessionName, int segmentSize, int maxSegments) throws IOException {
+        if (segmentSize < HEADER_SIZE + MAX_ENTRY_SIZE) {
+            throw new IllegalArgumentException("Telemetry segments must hold at least " + (HEADER_SIZE + MAX_ENTRY_SIZE)
+                    + " bytes, not " + segmentSize);
+        }
+        this.directory = directory;
+        this.sessionName = sessionName;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.startEpochMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create telemetry directory " + directory);
+        }
+        openSegment();
+    }
+
+    // ===== CHANNEL REGISTRATION =====
+    public int registerDouble(String name) {
+        return register(name, TYPE_DOUBLE);
+    }
+
+    public int registerBoolean(String name) {
+        return register(name, TYPE_BOOLEAN);
+    }
+
+    public int registerInt(String name) {
+        return register(name, TYPE_INT);
+    }
+
+    public int registerString(String name) {
+        return register(name, TYPE_STRING);
+    }
+
+    public int registerIntArray(String name) {
+        return register(name, TYPE_INT_ARRAY);
+    }
+
+    private synchronized int register(String name, byte type) {
+        // Registering the same name twice returns the existing channel
+        for (int i = 0; i < channelCount; i++) {
+            if (channelNames[i].equals(name)) {
+                if (channelTypes[i] != type) {
+                    throw new IllegalArgumentException("Telemetry channel " + name + " already registered with another type");
+                }
+                return i;
+            }
+        }
+
+        // Every segment starts with all definitions and must still fit the largest entry after them
+        int size = definitionSize(name);
+        if (HEADER_SIZE + definitionsSize + size + MAX_ENTRY_SIZE > segmentSize) {
+            throw new IllegalArgumentException("Telemetry channel " + name + " does not fit: the definitions of "
+                    + (channelCount + 1) + " channels need more than a " + segmentSize + " byte segment");
+        }
+
+        if (channelCount == channelNames.length) {
+            channelNames = Arrays.copyOf(channelNames, channelCount * 2);
+            channelTypes = Arrays.copyOf(channelTypes, channelCount * 2);
+        }
+        int channel = channelCount++;
+        channelNames[channel] = name;
+        channelTypes[channel] = type;
+        definitionsSize += size;
+        if (buffer != null) {
+            // A new segment repeats all definitions, this one included
+            if (buffer.remaining() >= size + 1) {
+                writeDefinition(channel);
+            } else {
+                rotate();
+            }
+        }
+        return channel;
+    }
+
+    private static int definitionSize(String name) {
+        return ENTRY_HEADER_SIZE + 1 + 2 + name.length() * 2;
+    }
+
+    // ===== RECORDING =====
+    public synchronized void recordDouble(int channel, double value) {
+        if (begin(channel, TYPE_DOUBLE, 8)) {
+            buffer.putDouble(value);
+        }
+    }
+
+    public synchronized void recordBoolean(int channel, boolean value) {
+        if (begin(channel, TYPE_BOOLEAN, 1)) {
+            buffer.put(value ? (byte) 1 : (byte) 0);
+        }
+    }
+
+    public synchronized void recordInt(int channel, int value) {
+        if (begin(channel, TYPE_INT, 4)) {
+            buffer.putInt(value);
+        }
+    }
+
+    public synchronized void recordString(int channel, String value) {
+        int length = Math.min(value.length(), MAX_STRING_LENGTH);
+        if (begin(channel, TYPE_STRING, 2 + length * 2)) {
+            buffer.putShort((short) length);
+            for (int i = 0; i < length; i++) {
+                buffer.putChar(value.charAt(i));
+            }
+        }
+    }
+
+    /**
+     * Records the first count values of the array
+     */
+    public synchronized void recordIntArray(int channel, int[] values, int count) {
+        int length = Math.min(count, MAX_ARRAY_LENGTH);
+        if (begin(channel, TYPE_INT_ARRAY, 2 + length * 4)) {
+            buffer.putShort((short) length);
+            for (int i = 0; i < length; i++) {
+                buffer.putInt(values[i]);
+            }
+        }
+    }
+
+    /**
+     * Writes the entry header, rotating first if the entry does not fit
+     * @return false if the channel is invalid or the log is closed
+     */
+    private boolean begin(int channel, byte type, int payloadSize) {
+        if (buffer == null || channel < 0 || channel >= channelCount || channelTypes[channel] != type) {
+            return false;
+        }
+        // Keep one byte free for the end marker
+        if (buffer.remaining() < ENTRY_HEADER_SIZE + payloadSize + 1) {
+            if (!rotate()) {
+                return false;
+            }
+        }
+        buffer.put(type);
+        buffer.putShort((short) channel);
+        buffer.putLong(System.nanoTime() - startNanos);
+        entriesWritten++;
+        return true;
+    }
+
+    // ===== SEGMENTS =====
+
+    /**
+     * Writes a definition into the current segment, callers make sure it fits
+     */
+    private void writeDefinition(int channel) {
+        String name = channelNames[channel];
+        buffer.put(TYPE_DEFINE);
+        buffer.putShort((short) channel);
+        buffer.putLong(System.nanoTime() - startNanos);
+        buffer.put(channelTypes[channel]);
+        buffer.putShort((short) name.length());
+        for (int i = 0; i < name.length(); i++) {
+            buffer.putChar(name.charAt(i));
+        }
+    }
+
+    private boolean rotate() {
+        try {
+            closeSegment(false);
+            openSegment();
+            for (int i = 0; i < channelCount; i++) {
+                writeDefinition(i);
+            }
+            return true;
+        } catch (IOException e) {
+            buffer = null;
+            return false;
+        }
+    }
+
+    private void openSegment() throws IOException {
+        segmentIndex++;
+        File file = segmentFile(segmentIndex);
+        fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putInt(segmentIndex);
+        buffer.putLong(startEpochMillis);
+
+        enforceRetention(file);
+    }
+
+    /**
+     * Deletes the oldest segments of all sessions beyond maxSegments
+     */
+    private void enforceRetention(File current) {
+        if (maxSegments <= 0) {
+            return;
+        }
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        // Names start with the session time, so sorting by name sorts oldest first
+        Arrays.sort(files);
+        for (int i = 0; i < files.length - maxSegments; i++) {
+            if (!files[i].equals(current) && !files[i].delete()) {
+                files[i].deleteOnExit();
+            }
+        }
+    }
+
+    private void closeSegment(boolean force) throws IOException {
+        if (buffer != null) {
+            if (buffer.remaining() > 0) {
+                buffer.put(TYPE_END);
+            }
+            // Only force on close, during rotation the OS writes the pages back on its own
+            if (force) {
+                buffer.force();
+            }
+            buffer = null;
+        }
+        if (fileChannel != null) {
+            fileChannel.close();
+            fileChannel = null;
+        }
+    }
+
+    private File segmentFile(int index) {
+        return new File(directory, FILE_PREFIX + sessionName + "-" + String.format("%04d", index) + FILE_SUFFIX);
+    }
+
+    // ===== STATUS =====
+    public String getSessionName() {
+        return sessionName;
+    }
+
+    public int getSegmentIndex() {
+        return segmentIndex;
+    }
+
+    public long getEntriesWritten() {
+        return entriesWritten;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            closeSegment(true);
+        } catch (IOException e) {
+            // Nothing left to do, the data already written stays readable
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package frc.robot.utilities.telemetry;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads telemetry segments written by TelemetryLog and exports them to CSV.
+ * Runs on a desktop JVM:
+ *
+ * <pre>
+ * java frc.robot.utilities.telemetry.TelemetryLogReader &lt;segment files or directory&gt; [output.csv]
+ * </pre>
+ */
+public class TelemetryLogReader {
+
+    /**
+     * Receives every value entry in file order
+     */
+    public interface Visitor {
+        void onDouble(long timestampNanos, String channel, double value);
+
+        void onBoolean(long timestampNanos, String channel, boolean value);
+
+        void onInt(long timestampNanos, String channel, int value);
+
+        void onString(long timestampNanos, String channel, String value);
+
+        void onIntArray(long timestampNanos, String channel, int[] values);
+    }
+
+    /**
+     * Reads one segment file and passes its entries to the visitor
+     * @return Session start time (epoch ms) stored in the segment header
+     */
+    public static long read(File file, Visitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.remaining() < TelemetryLog.HEADER_SIZE || buffer.getInt() != TelemetryLog.MAGIC) {
+                throw new IOException(file + " is not a telemetry log");
+            }
+            short version = buffer.getShort();
+            if (version != TelemetryLog.VERSION) {
+                throw new IOException(file + " has unsupported telemetry version " + version);
+            }
+            buffer.getInt(); // segment index
+            long startEpochMillis = buffer.getLong();
+
+            String[] names = new String[64];
+            while (buffer.remaining() >= TelemetryLog.ENTRY_HEADER_SIZE) {
+                byte type = buffer.get();
+                if (type == TelemetryLog.TYPE_END) {
+                    break;
+                }
+                int id = buffer.getShort() & 0xFFFF;
+                long timestamp = buffer.getLong();
+                if (id >= names.length) {
+                    names = Arrays.copyOf(names, Math.max(names.length * 2, id + 1));
+                }
+
+                switch (type) {
+                    case TelemetryLog.TYPE_DEFINE:
+                        buffer.get(); // value type
+                        names[id] = readChars(buffer, buffer.getShort());
+                        break;
+                    case TelemetryLog.TYPE_DOUBLE:
+                        visitor.onDouble(timestamp, names[id], buffer.getDouble());
+                        break;
+                    case TelemetryLog.TYPE_BOOLEAN:
+                        visitor.onBoolean(timestamp, names[id], buffer.get() != 0);
+                        break;
+                    case TelemetryLog.TYPE_INT:
+                        visitor.onInt(timestamp, names[id], buffer.getInt());
+                        break;
+                    case TelemetryLog.TYPE_STRING:
+                        visitor.onString(timestamp, names[id], readChars(buffer, buffer.getShort()));
+                        break;
+                    case TelemetryLog.TYPE_INT_ARRAY:
+                        int[] values = new int[buffer.getShort()];
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = buffer.getInt();
+                        }
+                        visitor.onIntArray(timestamp, names[id], values);
+                        break;
+                    default:
+                        throw new IOException(file + " has unknown entry type " + type + " at " + (buffer.position() - TelemetryLog.ENTRY_HEADER_SIZE));
+                }
+            }
+            return startEpochMillis;
+        }
+    }
+
+    /**
+     * @return Session start time (epoch ms) from the segment header
+     */
+    public static long readStartTime(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(TelemetryLog.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+            }
+            header.flip();
+            if (header.remaining() < TelemetryLog.HEADER_SIZE || header.getInt() != TelemetryLog.MAGIC) {
+                throw new IOException(file + " is not a telemetry log");
+            }
+            return header.getLong(TelemetryLog.HEADER_SIZE - 8);
+        }
+    }
+
+    private static String readChars(MappedByteBuffer buffer, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = buffer.getChar();
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Expands directories into their segment files, sorted by name (session, then segment index)
+     */
+    public static List<File> collectSegments(String[] paths) {
+        List<File> files = new ArrayList<>();
+        for (String path : paths) {
+            File file = new File(path);
+            if (file.isDirectory()) {
+                File[] segments = file.listFiles((dir, name) ->
+                        name.startsWith(TelemetryLog.FILE_PREFIX) && name.endsWith(TelemetryLog.FILE_SUFFIX));
+                if (segments != null) {
+                    Arrays.sort(segments);
+                    files.addAll(Arrays.asList(segments));
+                }
+            } else {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Writes all entries as CSV rows: time in seconds, channel, value
+     */
+    public static void exportCsv(List<File> files, Writer out) throws IOException {
+        out.write("time_s,channel,value\n");
+        Visitor csv = new Visitor() {
+            @Override
+            public void onDouble(long timestampNanos, String channel, double value) {
+                row(timestampNanos, channel, Double.toString(value));
+            }
+
+            @Override
+            public void onBoolean(long timestampNanos, String channel, boolean value) {
+                row(timestampNanos, channel, value ? "1" : "0");
+            }
+
+            @Override
+            public void onInt(long timestampNanos, String channel, int value) {
+                row(timestampNanos, channel, Integer.toString(value));
+            }
+
+            @Override
+            public void onString(long timestampNanos, String channel, String value) {
+                row(timestampNanos, channel, quote(value));
+            }
+
+            @Override
+            public void onIntArray(long timestampNanos, String channel, int[] values) {
+                StringBuilder joined = new StringBuilder();
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        joined.append(' ');
+                    }
+                    joined.append(values[i]);
+                }
+                row(timestampNanos, channel, quote(joined.toString()));
+            }
+
+            private void row(long timestampNanos, String channel, String value) {
+                try {
+                    out.write(String.format("%.6f", timestampNanos / 1e9));
+                    out.write(',');
+                    out.write(quote(channel));
+                    out.write(',');
+                    out.write(value);
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+
+        for (File file : files) {
+            read(file, csv);
+        }
+        out.flush();
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: TelemetryLogReader <segment files or directory> [output.csv]");
+            return;
+        }
+
+        // A trailing .csv argument is the output file, otherwise print to stdout
+        String last = args[args.length - 1];
+        boolean toFile = last.endsWith(".csv");
+        String[] inputs = toFile ? Arrays.copyOf(args, args.length - 1) : args;
+
+        List<File> files = collectSegments(inputs);
+        try (Writer out = toFile
+                ? new BufferedWriter(new FileWriter(last))
+                : new BufferedWriter(new OutputStreamWriter(System.out))) {
+            exportCsv(files, out);
+        }
+        if (toFile) {
+            System.out.println("Exported " + files.size() + " segment(s) to " + last);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package frc.robot.utilities.timing;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-bucket latency histogram.
+ * Recording is a division and an array increment, no allocation.
+ */
+public class LatencyHistogram {
+
+    private final long bucketWidthNanos;
+    private final long[] buckets;
+
+    private long count = 0;
+    private long totalNanos = 0;
+    private long maxNanos = 0;
+
+    /**
+     * @param bucketWidthNanos Resolution of the histogram
+     * @param bucketCount Number of buckets, larger samples go into the last bucket
+     */
+    public LatencyHistogram(long bucketWidthNanos, int bucketCount) {
+        this.bucketWidthNanos = bucketWidthNanos;
+        this.buckets = new long[bucketCount];
+    }
+
+    /**
+     * 25 us buckets up to 50 ms, enough to see a 20 ms loop overrun
+     */
+    public LatencyHistogram() {
+        this(25_000, 2000);
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        int bucket = (int) Math.min(nanos / bucketWidthNanos, buckets.length - 1);
+        buckets[bucket]++;
+        count++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+    }
+
+    /**
+     * @param percentile Value between 0 and 100
+     * @return Upper edge of the bucket containing the percentile, in nanoseconds
+     */
+    public long getPercentileNanos(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= target) {
+                return Math.min((i + 1) * bucketWidthNanos, maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public double getMeanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    public void reset() {
+        Arrays.fill(buckets, 0);
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+}
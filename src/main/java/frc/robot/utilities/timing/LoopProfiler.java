@@ -0,0 +1,144 @@
+package frc.robot.utilities.timing;
+
+import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
+
+/**
+ * Times the stages of the robot loop.
+ *
+ * <p>Call startLoop() at the top of a periodic method, mark(stage) after each
+ * stage and endLoop() at the bottom. Each mark records the time since the
+ * previous mark into that stage's histogram. Loops longer than the period
+ * are counted as overruns.
+ */
+public class LoopProfiler {
+
+    // Dashboard values are refreshed every this many loops
+    private static final int PUBLISH_EVERY_LOOPS = 50;
+
+    private final String name;
+    private final String[] stageNames;
+    private final LatencyHistogram[] stages;
+    private final LatencyHistogram loop = new LatencyHistogram();
+    private final long periodNanos;
+
+    // Dashboard keys, built once
+    private final String[] p50Keys;
+    private final String[] p99Keys;
+    private final String[] maxKeys;
+
+    private long loopStartNanos;
+    private long lastMarkNanos;
+    private boolean inLoop = false;
+    private long overruns = 0;
+    private int loopsSincePublish = 0;
+
+    /**
+     * @param name Prefix for dashboard keys and log lines
+     * @param stageNames Names of the stages, the index is the stage id
+     * @param periodSeconds Loop period, longer loops count as overruns
+     */
+    public LoopProfiler(String name, String[] stageNames, double periodSeconds) {
+        this.name = name;
+        this.stageNames = stageNames.clone();
+        this.periodNanos = (long) (periodSeconds * 1e9);
+
+        stages = new LatencyHistogram[stageNames.length];
+        p50Keys = new String[stageNames.length];
+        p99Keys = new String[stageNames.length];
+        maxKeys = new String[stageNames.length];
+        for (int i = 0; i < stageNames.length; i++) {
+            stages[i] = new LatencyHistogram();
+            p50Keys[i] = name + "/" + stageNames[i] + " p50 (ms)";
+            p99Keys[i] = name + "/" + stageNames[i] + " p99 (ms)";
+            maxKeys[i] = name + "/" + stageNames[i] + " max (ms)";
+        }
+    }
+
+    // ===== SAMPLING =====
+    public void startLoop() {
+        loopStartNanos = System.nanoTime();
+        lastMarkNanos = loopStartNanos;
+        inLoop = true;
+    }
+
+    /**
+     * Records the time since the previous mark (or the loop start) for the stage
+     */
+    public void mark(int stage) {
+        if (!inLoop) {
+            return;
+        }
+        long now = System.nanoTime();
+        stages[stage].record(now - lastMarkNanos);
+        lastMarkNanos = now;
+    }
+
+    public void endLoop() {
+        if (!inLoop) {
+            return;
+        }
+        inLoop = false;
+        long duration = System.nanoTime() - loopStartNanos;
+        loop.record(duration);
+        if (duration > periodNanos) {
+            overruns++;
+        }
+
+        if (++loopsSincePublish >= PUBLISH_EVERY_LOOPS) {
+            loopsSincePublish = 0;
+            publishToDashboard();
+        }
+    }
+
+    // ===== REPORTING =====
+    public void publishToDashboard() {
+        for (int i = 0; i < stages.length; i++) {
+            DashboardPublisher.putNumber(p50Keys[i], stages[i].getPercentileNanos(50) / 1e6);
+            DashboardPublisher.putNumber(p99Keys[i], stages[i].getPercentileNanos(99) / 1e6);
+            DashboardPublisher.putNumber(maxKeys[i], stages[i].getMaxNanos() / 1e6);
+        }
+        DashboardPublisher.putNumber(name + "/Loop p50 (ms)", loop.getPercentileNanos(50) / 1e6);
+        DashboardPublisher.putNumber(name + "/Loop p99 (ms)", loop.getPercentileNanos(99) / 1e6);
+        DashboardPublisher.putNumber(name + "/Loop max (ms)", loop.getMaxNanos() / 1e6);
+        DashboardPublisher.putNumber(name + "/Overruns", overruns);
+    }
+
+    /**
+     * Writes a timing table for all stages to the log
+     */
+    public void logReport() {
+        LoggingSystem.logInfo(String.format("%s timing over %d loops, %d overruns (period %.1f ms)",
+                name, loop.getCount(), overruns, periodNanos / 1e6));
+        for (int i = 0; i < stages.length; i++) {
+            LoggingSystem.logInfo(format(stageNames[i], stages[i]));
+        }
+        LoggingSystem.logInfo(format("loop total", loop));
+    }
+
+    private static String format(String stage, LatencyHistogram histogram) {
+        return String.format("  %-20s p50 %7.3f ms  p99 %7.3f ms  max %7.3f ms  mean %7.3f ms",
+                stage, histogram.getPercentileNanos(50) / 1e6, histogram.getPercentileNanos(99) / 1e6,
+                histogram.getMaxNanos() / 1e6, histogram.getMeanNanos() / 1e6);
+    }
+
+    public void reset() {
+        for (LatencyHistogram stage : stages) {
+            stage.reset();
+        }
+        loop.reset();
+        overruns = 0;
+    }
+
+    public long getOverruns() {
+        return overruns;
+    }
+
+    public LatencyHistogram getStage(int stage) {
+        return stages[stage];
+    }
+
+    public LatencyHistogram getLoop() {
+        return loop;
+    }
+}
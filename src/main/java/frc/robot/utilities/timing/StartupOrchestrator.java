@@ -0,0 +1,184 @@
+package frc.robot.utilities.timing;
+
+import frc.robot.utilities.logger.LoggingSystem;
+import frc.robot.utilities.shuffleboard.DashboardPublisher;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs robot startup in timed phases, with independent work on worker threads.
+ *
+ * <p>submit() starts a phase on a worker and join() on the returned task
+ * waits for it; build() and run() time a phase on the calling thread. Every
+ * phase, and every wait for a task that wasn't done yet, goes into a
+ * timeline that finish() logs together with the time until the robot was
+ * ready. Work submitted together must not share state that isn't thread safe.
+ */
+public class StartupOrchestrator {
+
+    // Waits shorter than this are left out of the timeline
+    private static final long MIN_WAIT_NANOS = 1_000_000;
+
+    /**
+     * One entry of the timeline
+     */
+    private static final class Phase {
+        final String name;
+        final String thread;
+        final long startNanos;
+        final long endNanos;
+        final boolean failed;
+
+        Phase(String name, String thread, long startNanos, long endNanos, boolean failed) {
+            this.name = name;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+            this.failed = failed;
+        }
+    }
+
+    /**
+     * Phase running on a worker thread
+     */
+    public final class Task<T> {
+        private final String name;
+        private final CompletableFuture<T> future;
+
+        private Task(String name, CompletableFuture<T> future) {
+            this.name = name;
+            this.future = future;
+        }
+
+        /**
+         * Waits for the phase and returns its result, rethrowing what it threw
+         */
+        public T join() {
+            long start = System.nanoTime();
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException("Startup phase " + name + " failed", cause);
+            } finally {
+                long end = System.nanoTime();
+                if (end - start >= MIN_WAIT_NANOS) {
+                    record("waiting for " + name, start, end, false);
+                }
+            }
+        }
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final ExecutorService workers;
+    private final List<Phase> timeline = new ArrayList<>();
+
+    /**
+     * @param threads Number of worker threads, the calling thread works as well
+     */
+    public StartupOrchestrator(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Startup-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ===== PHASES =====
+
+    /**
+     * Starts a phase on a worker thread
+     */
+    public <T> Task<T> submit(String name, Callable<T> work) {
+        return new Task<>(name, CompletableFuture.supplyAsync(() -> timed(name, work), workers));
+    }
+
+    /**
+     * Runs a phase on the calling thread
+     * @return What the work returned
+     */
+    public <T> T build(String name, Callable<T> work) {
+        return timed(name, work);
+    }
+
+    /**
+     * Runs a phase without a result on the calling thread
+     */
+    public void run(String name, Runnable work) {
+        timed(name, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private <T> T timed(String name, Callable<T> work) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = work.call();
+            failed = false;
+            return result;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Startup phase " + name + " failed", e);
+        } finally {
+            record(name, start, System.nanoTime(), failed);
+            if (failed) {
+                LoggingSystem.logError("Startup phase " + name + " failed");
+            }
+        }
+    }
+
+    private void record(String name, long start, long end, boolean failed) {
+        Phase phase = new Phase(name, Thread.currentThread().getName(), start, end, failed);
+        synchronized (timeline) {
+            timeline.add(phase);
+        }
+    }
+
+    // ===== REPORT =====
+
+    /**
+     * Stops the workers and logs the timeline, call once everything is built
+     */
+    public void finish() {
+        workers.shutdown();
+        long readyNanos = System.nanoTime() - startNanos;
+        long sinceJvmStartMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+
+        List<Phase> phases;
+        synchronized (timeline) {
+            phases = new ArrayList<>(timeline);
+        }
+        phases.sort(Comparator.comparingLong(phase -> phase.startNanos));
+
+        LoggingSystem.logInfo("Startup timeline (ms since robotInit):");
+        for (Phase phase : phases) {
+            LoggingSystem.logInfo(String.format("  %8.1f - %8.1f  %-10s %s%s",
+                    (phase.startNanos - startNanos) / 1e6, (phase.endNanos - startNanos) / 1e6,
+                    phase.thread, phase.name, phase.failed ? " (failed)" : ""));
+        }
+        LoggingSystem.logInfo(String.format("Robot ready %.1f ms after robotInit, %d ms after JVM start",
+                readyNanos / 1e6, sinceJvmStartMillis));
+
+        DashboardPublisher.putNumber("Startup Time (ms)", readyNanos / 1e6);
+        DashboardPublisher.putNumber("Startup Since JVM Start (ms)", sinceJvmStartMillis);
+    }
+}
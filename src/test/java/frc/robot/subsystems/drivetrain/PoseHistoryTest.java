@@ -0,0 +1,94 @@
+package frc.robot.subsystems.drivetrain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class PoseHistoryTest {
+
+    private static final long STEP_NANOS = 1_000;
+    private static final int ADDS = 2_000_000;
+
+    @Test
+    public void interpolatesBetweenRecordedPoses() {
+        PoseHistory history = new PoseHistory(8);
+        double[] out = new double[3];
+        assertFalse(history.sample(0, out));
+
+        history.add(1_000, 0.0, 0.0, 0.0);
+        history.add(2_000, 1.0, 2.0, 10.0);
+        assertTrue(history.sample(1_250, out));
+        assertEquals(0.25, out[PoseHistory.X], 1e-12);
+        assertEquals(0.5, out[PoseHistory.Y], 1e-12);
+        assertEquals(2.5, out[PoseHistory.ANGLE], 1e-12);
+
+        // After the newest pose the newest pose is returned
+        assertTrue(history.sample(5_000, out));
+        assertEquals(1.0, out[PoseHistory.X], 0.0);
+    }
+
+    @Test
+    public void forgetsPosesOlderThanTheCapacity() {
+        PoseHistory history = new PoseHistory(4);
+        double[] out = new double[3];
+        for (int i = 0; i < 10; i++) {
+            history.add(i * STEP_NANOS, i, 0, 0);
+        }
+        assertEquals(4, history.size());
+        assertFalse(history.sample(5 * STEP_NANOS, out));
+        assertTrue(history.sample(6 * STEP_NANOS, out));
+        assertEquals(6.0, out[PoseHistory.X], 1e-12);
+    }
+
+    @Test
+    public void clearForgetsEverything() {
+        PoseHistory history = new PoseHistory(4);
+        history.add(STEP_NANOS, 1, 1, 1);
+        history.clear();
+        assertEquals(0, history.size());
+        assertFalse(history.sample(STEP_NANOS, new double[3]));
+    }
+
+    @Test(timeout = 30_000)
+    public void readerNeverSeesATornPose() throws InterruptedException {
+        PoseHistory history = new PoseHistory(64);
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        // Pose i is (i, 2i, 3i) at i steps, so any consistent lookup keeps x at the time and the ratios intact
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= ADDS; i++) {
+                history.add(i * STEP_NANOS, i, 2.0 * i, 3.0 * i);
+            }
+        }, "PoseWriter");
+        Thread reader = new Thread(() -> {
+            double[] out = new double[3];
+            long lookup = 0;
+            while (lookup < ADDS * STEP_NANOS) {
+                lookup += STEP_NANOS / 3;
+                if (!history.sample(lookup, out)) {
+                    continue;
+                }
+                double x = out[PoseHistory.X];
+                if (Math.abs(out[PoseHistory.Y] - 2 * x) > 1e-6 || Math.abs(out[PoseHistory.ANGLE] - 3 * x) > 1e-6) {
+                    failure.compareAndSet(null, "Torn pose " + x + ", " + out[PoseHistory.Y] + ", " + out[PoseHistory.ANGLE]);
+                    return;
+                }
+                if (x > (double) lookup / STEP_NANOS + 1e-6) {
+                    failure.compareAndSet(null, "Pose " + x + " is newer than the lookup time " + lookup);
+                    return;
+                }
+            }
+        }, "PoseReader");
+
+        reader.start();
+        writer.start();
+        writer.join();
+        reader.join();
+        assertNull(failure.get());
+    }
+}
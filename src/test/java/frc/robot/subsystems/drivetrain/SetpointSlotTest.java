@@ -0,0 +1,71 @@
+package frc.robot.subsystems.drivetrain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class SetpointSlotTest {
+
+    private static final int WRITES = 2_000_000;
+
+    @Test
+    public void readsZeroBeforeTheFirstSet() {
+        SetpointSlot slot = new SetpointSlot();
+        double[] out = { 1, 1, 1 };
+        assertEquals(0, slot.get(out));
+        assertEquals(0.0, out[0], 0.0);
+        assertEquals(0.0, out[1], 0.0);
+        assertEquals(0.0, out[2], 0.0);
+    }
+
+    @Test
+    public void readsTheLatestSetpoint() {
+        SetpointSlot slot = new SetpointSlot();
+        double[] out = new double[3];
+        slot.set(0.1, 0.2, 0.3);
+        slot.set(1.0, 2.0, 3.0);
+        assertTrue(slot.get(out) > 0);
+        assertEquals(1.0, out[0], 0.0);
+        assertEquals(2.0, out[1], 0.0);
+        assertEquals(3.0, out[2], 0.0);
+    }
+
+    @Test(timeout = 30_000)
+    public void readerNeverSeesATornOrOlderSetpoint() throws InterruptedException {
+        SetpointSlot slot = new SetpointSlot();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        // Every setpoint written is (i, 2i, 3i), so a mix of two writes shows up as a broken ratio
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= WRITES; i++) {
+                slot.set(i, 2.0 * i, 3.0 * i);
+            }
+        }, "SetpointWriter");
+        Thread reader = new Thread(() -> {
+            double[] out = new double[3];
+            double last = 0;
+            while (last < WRITES) {
+                slot.get(out);
+                if (out[1] != 2.0 * out[0] || out[2] != 3.0 * out[0]) {
+                    failure.compareAndSet(null, "Torn setpoint " + out[0] + ", " + out[1] + ", " + out[2]);
+                    return;
+                }
+                if (out[0] < last) {
+                    failure.compareAndSet(null, "Setpoint went back from " + last + " to " + out[0]);
+                    return;
+                }
+                last = out[0];
+            }
+        }, "SetpointReader");
+
+        reader.start();
+        writer.start();
+        writer.join();
+        reader.join();
+        assertNull(failure.get());
+    }
+}
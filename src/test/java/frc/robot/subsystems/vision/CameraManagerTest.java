@@ -0,0 +1,105 @@
+package frc.robot.subsystems.vision;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class CameraManagerTest {
+
+    private static final int WIDTH = 64;
+    private static final int HEIGHT = 48;
+
+    @Test(timeout = 30_000)
+    public void processesSyntheticFramesInOrder() throws InterruptedException {
+        AtomicReference<String> failure = new AtomicReference<>();
+        long[] lastSequence = new long[1];
+        CameraManager camera = new CameraManager(new SyntheticFrameSource(WIDTH, HEIGHT, 0), frame -> {
+            if (frame.getSequence() <= lastSequence[0]) {
+                failure.compareAndSet(null, "Frame " + frame.getSequence() + " after " + lastSequence[0]);
+            }
+            lastSequence[0] = frame.getSequence();
+        });
+
+        camera.start();
+        while (camera.getProcessedCount() < 100) {
+            Thread.sleep(5);
+        }
+        camera.stop();
+
+        assertNull(failure.get());
+        // Every capture was processed or dropped, except one that may still wait in the middle frame
+        long unaccounted = camera.getCapturedCount() - camera.getProcessedCount() - camera.getDroppedCount();
+        assertTrue("Unaccounted frames: " + unaccounted, unaccounted == 0 || unaccounted == 1);
+    }
+
+    @Test(timeout = 30_000)
+    public void neverHandsOutAFrameThatIsBeingWritten() throws InterruptedException {
+        AtomicReference<String> failure = new AtomicReference<>();
+        CameraManager camera = new CameraManager(new FillingFrameSource(), frame -> {
+            // The whole frame carries the low byte of its sequence number, before and after a pause
+            byte expected = (byte) frame.getSequence();
+            checkFilled(frame, expected, "taken", failure);
+            Thread.yield();
+            checkFilled(frame, expected, "processed", failure);
+        });
+
+        camera.start();
+        while (camera.getProcessedCount() < 2000 && failure.get() == null) {
+            Thread.sleep(5);
+        }
+        camera.stop();
+
+        assertNull(failure.get());
+    }
+
+    private static void checkFilled(Frame frame, byte expected, String when,
+            AtomicReference<String> failure) {
+        ByteBuffer pixels = frame.getPixels();
+        for (int i = 0; i < pixels.capacity(); i++) {
+            if (pixels.get(i) != expected) {
+                failure.compareAndSet(null, "Frame " + frame.getSequence() + " " + when + " with byte " + i
+                        + " = " + pixels.get(i));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fills each frame with its number, in two halves so a frame read while it is written shows a mix
+     */
+    private static class FillingFrameSource implements FrameSource {
+        private int frameNumber = 0;
+
+        @Override
+        public int getWidth() {
+            return WIDTH;
+        }
+
+        @Override
+        public int getHeight() {
+            return HEIGHT;
+        }
+
+        @Override
+        public boolean grab(ByteBuffer pixels) {
+            byte value = (byte) ++frameNumber;
+            int half = pixels.capacity() / 2;
+            for (int i = 0; i < half; i++) {
+                pixels.put(i, value);
+            }
+            Thread.yield();
+            for (int i = half; i < pixels.capacity(); i++) {
+                pixels.put(i, value);
+            }
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package frc.robot.subsystems.vision.apple;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class AppleExtractorTest {
+
+    private static final byte RED = AppleColor.RED.getCode();
+    private static final byte YELLOW = AppleColor.YELLOW.getCode();
+    private static final byte GREEN = AppleColor.GREEN.getCode();
+
+    /**
+     * Fills the inclusive rectangle with a color code
+     */
+    private static void fill(byte[] mask, int width, int x0, int y0, int x1, int y1, byte code) {
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                mask[y * width + x] = code;
+            }
+        }
+    }
+
+    @Test
+    public void mergesTheLabelsOfAUShape() {
+        int width = 12;
+        int height = 10;
+        byte[] mask = new byte[width * height];
+        // The arms get different labels on the first rows and only meet in the bottom row
+        fill(mask, width, 1, 1, 3, 8, RED);
+        fill(mask, width, 8, 1, 10, 8, RED);
+        fill(mask, width, 1, 8, 10, 8, RED);
+        AppleExtractor extractor = new AppleExtractor(width, height, 4, 1, 10.0);
+
+        assertEquals(1, extractor.extract(mask, 7));
+        assertEquals(1, extractor.getBlobCount());
+        Apple apple = extractor.getApple(0);
+        assertEquals(AppleColor.RED, apple.getColor());
+        assertEquals(3 * 8 * 2 + 4, apple.getArea());
+        assertEquals(1, apple.getMinX());
+        assertEquals(1, apple.getMinY());
+        assertEquals(10, apple.getMaxX());
+        assertEquals(8, apple.getMaxY());
+        assertEquals(5.5, apple.getCenterX(), 1e-9);
+        assertEquals(7, apple.getId().getFrameSequence());
+        assertEquals(0, apple.getId().getIndex());
+    }
+
+    @Test
+    public void keepsTouchingBlobsOfDifferentColorsApart() {
+        int width = 20;
+        int height = 10;
+        byte[] mask = new byte[width * height];
+        fill(mask, width, 0, 0, 9, 9, RED);
+        fill(mask, width, 10, 2, 15, 7, GREEN);
+        AppleExtractor extractor = new AppleExtractor(width, height, 4, 1, 2.0);
+
+        assertEquals(2, extractor.extract(mask, 1));
+        assertEquals(AppleColor.RED, extractor.getApple(0).getColor());
+        assertEquals(100, extractor.getApple(0).getArea());
+        assertEquals(AppleColor.GREEN, extractor.getApple(1).getColor());
+        assertEquals(36, extractor.getApple(1).getArea());
+        assertEquals(12.5, extractor.getApple(1).getCenterX(), 1e-9);
+    }
+
+    @Test
+    public void filtersSmallAndElongatedBlobs() {
+        int width = 30;
+        int height = 20;
+        byte[] mask = new byte[width * height];
+        fill(mask, width, 0, 0, 5, 5, YELLOW); // 36 px, round
+        fill(mask, width, 10, 0, 11, 1, YELLOW); // 4 px, too small
+        fill(mask, width, 0, 10, 19, 13, YELLOW); // 80 px, 5:1
+        AppleExtractor extractor = new AppleExtractor(width, height, 4, 10, 2.0);
+
+        assertEquals(1, extractor.extract(mask, 1));
+        assertEquals(3, extractor.getBlobCount());
+        assertEquals(36, extractor.getApple(0).getArea());
+    }
+
+    @Test
+    public void keepsTheLargestBlobsWhenThePoolIsFull() {
+        int width = 40;
+        int height = 10;
+        byte[] mask = new byte[width * height];
+        // Squares of 2, 5, 3 and 4 px sides, in scan order, with gaps between them
+        fill(mask, width, 0, 0, 1, 1, RED);
+        fill(mask, width, 4, 0, 8, 4, RED);
+        fill(mask, width, 11, 0, 13, 2, GREEN);
+        fill(mask, width, 16, 0, 19, 3, YELLOW);
+        AppleExtractor extractor = new AppleExtractor(width, height, 2, 1, 2.0);
+
+        assertEquals(2, extractor.extract(mask, 3));
+        assertEquals(4, extractor.getBlobCount());
+        assertEquals(25, extractor.getApple(0).getArea());
+        assertEquals(16, extractor.getApple(1).getArea());
+        assertEquals(AppleColor.YELLOW, extractor.getApple(1).getColor());
+        assertEquals(1, extractor.getApple(1).getId().getIndex());
+    }
+
+    @Test
+    public void dropsPixelsPastTheLabelLimit() {
+        int width = 4;
+        int height = 4;
+        byte[] mask = new byte[width * height];
+        // Colors alternating pixel by pixel need a label per pixel, more than the 4 a 4x4 mask gets
+        for (int y = 0; y < height; y += 2) {
+            for (int x = 0; x < width; x++) {
+                mask[y * width + x] = x % 2 == 0 ? RED : GREEN;
+            }
+            fill(mask, width, 0, y + 1, width - 1, y + 1, YELLOW);
+        }
+        AppleExtractor extractor = new AppleExtractor(width, height, 8, 1, 2.0);
+
+        // The first row takes all labels, the rest of the mask is dropped
+        assertEquals(4, extractor.extract(mask, 1));
+        assertEquals(12, extractor.getDroppedPixels());
+
+        // The next frame starts over with all labels
+        assertEquals(0, extractor.extract(new byte[width * height], 2));
+        assertEquals(0, extractor.getDroppedPixels());
+    }
+
+    @Test
+    public void sumsLargeFramesWithoutOverflow() {
+        int width = 2048;
+        int height = 1536;
+        byte[] mask = new byte[width * height];
+        Arrays.fill(mask, GREEN);
+        AppleExtractor extractor = new AppleExtractor(width, height, 1, 1, 2.0);
+
+        assertEquals(1, extractor.extract(mask, 1));
+        assertEquals((width - 1) / 2.0, extractor.getApple(0).getCenterX(), 1e-9);
+        assertEquals((height - 1) / 2.0, extractor.getApple(0).getCenterY(), 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAnEmptyApplePool() {
+        new AppleExtractor(10, 10, 0, 1, 2.0);
+    }
+}
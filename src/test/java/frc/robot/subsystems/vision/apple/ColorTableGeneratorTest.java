@@ -0,0 +1,54 @@
+package frc.robot.subsystems.vision.apple;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+public class ColorTableGeneratorTest {
+
+    @Test
+    public void labeledSamplesOverrideTheHsvRanges() throws IOException {
+        File samples = Files.createTempDirectory("samples").toFile();
+        try {
+            // A dull red the HSV ranges call background, and a bright red labeled as background
+            writeSample(samples, "red", 90, 70, 70);
+            writeSample(samples, ColorTableGenerator.BACKGROUND_LABEL, 200, 30, 30);
+            File output = new File(samples, "apple_colors.lut");
+
+            ColorTableGenerator.main(new String[] { samples.getPath(), output.getPath(), "6" });
+            ColorTable table = ColorTable.read(output);
+
+            assertEquals(AppleColor.NONE_CODE, AppleColor.classify(90, 70, 70));
+            assertEquals(AppleColor.RED.getCode(), table.classify(90, 70, 70));
+            assertEquals(AppleColor.NONE_CODE, table.classify(200, 30, 30));
+            // Cells without samples keep their HSV class
+            assertEquals(AppleColor.GREEN.getCode(), table.classify(30, 200, 30));
+        } finally {
+            try (Stream<Path> files = Files.walk(samples.toPath())) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private static void writeSample(File samples, String label, int r, int g, int b) throws IOException {
+        File directory = new File(samples, label);
+        directory.mkdirs();
+        BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 4; x++) {
+                image.setRGB(x, y, 0xff000000 | (r << 16) | (g << 8) | b);
+            }
+        }
+        ImageIO.write(image, "png", new File(directory, label + ".png"));
+    }
+}
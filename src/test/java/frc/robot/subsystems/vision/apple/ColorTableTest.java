@@ -0,0 +1,130 @@
+package frc.robot.subsystems.vision.apple;
+
+import static org.junit.Assert.assertEquals;
+
+import frc.robot.constants.Constants;
+import frc.robot.subsystems.vision.Frame;
+import frc.robot.subsystems.vision.SyntheticFrameSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+public class ColorTableTest {
+
+    @Test
+    public void compiledTableAgreesWithTheHsvRangesAtCellCenters() {
+        for (int bits = 4; bits <= 6; bits++) {
+            ColorTable table = ColorTable.compile(bits);
+            int shift = 8 - bits;
+            int half = (1 << shift) >> 1;
+            for (int r = half; r < 256; r += 1 << shift) {
+                for (int g = half; g < 256; g += 1 << shift) {
+                    for (int b = half; b < 256; b += 1 << shift) {
+                        assertEquals("Cell at " + r + ", " + g + ", " + b + " with " + bits + " bits",
+                                AppleColor.classify(r, g, b), table.classify(r, g, b));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void segmentsSyntheticFramesLikeTheHsvRanges() {
+        // Only holds for flat colors away from the range limits, quantization moves the limits by up to half a cell
+        ColorTable table = ColorTable.compile(Constants.APPLE_COLOR_TABLE_BITS);
+        SyntheticFrameSource source = new SyntheticFrameSource(160, 120, 0);
+        ByteBuffer pixels = ByteBuffer.allocate(160 * 120 * Frame.BYTES_PER_PIXEL);
+        for (int frame = 0; frame < 10; frame++) {
+            source.grab(pixels);
+            for (int i = 0; i < pixels.capacity(); i += Frame.BYTES_PER_PIXEL) {
+                int r = pixels.get(i) & 0xff;
+                int g = pixels.get(i + 1) & 0xff;
+                int b = pixels.get(i + 2) & 0xff;
+                assertEquals(AppleColor.classify(r, g, b), table.classify(r, g, b));
+            }
+        }
+    }
+
+    @Test
+    public void readsBackWhatItWrote() throws IOException {
+        ColorTable table = ColorTable.compile(5);
+        File file = temporaryFile();
+        table.write(file);
+        ColorTable read = ColorTable.read(file);
+
+        assertEquals(5, read.getBits());
+        for (int cell = 0; cell < 1 << 15; cell++) {
+            assertEquals(table.getCode(cell), read.getCode(cell));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsABadMagicNumber() throws IOException {
+        ByteBuffer file = tableFile(4);
+        file.putInt(0, 0x12345678);
+        ColorTable.read(write(file.array()));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsAnUnsupportedVersion() throws IOException {
+        ByteBuffer file = tableFile(4);
+        file.putShort(4, (short) (ColorTable.VERSION + 1));
+        ColorTable.read(write(file.array()));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsADifferentColorCount() throws IOException {
+        ByteBuffer file = tableFile(4);
+        file.put(7, (byte) (AppleColor.count() + 1));
+        ColorTable.read(write(file.array()));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsATruncatedTable() throws IOException {
+        byte[] file = tableFile(4).array();
+        byte[] truncated = new byte[file.length - 1];
+        System.arraycopy(file, 0, truncated, 0, truncated.length);
+        ColorTable.read(write(truncated));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsATruncatedHeader() throws IOException {
+        ColorTable.read(write(new byte[] { 0x31, 0x54, 0x55 }));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsUnknownColorCodes() throws IOException {
+        ByteBuffer file = tableFile(4);
+        file.put(ColorTable.HEADER_SIZE, (byte) (AppleColor.count() + 1));
+        ColorTable.read(write(file.array()));
+    }
+
+    /**
+     * A valid file of an all background table
+     */
+    private static ByteBuffer tableFile(int bits) {
+        ByteBuffer buffer = ByteBuffer.allocate(ColorTable.HEADER_SIZE + (1 << (3 * bits))).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(ColorTable.MAGIC);
+        buffer.putShort(ColorTable.VERSION);
+        buffer.put((byte) bits);
+        buffer.put((byte) AppleColor.count());
+        return buffer;
+    }
+
+    private static File write(byte[] contents) throws IOException {
+        File file = temporaryFile();
+        Files.write(file.toPath(), contents);
+        return file;
+    }
+
+    private static File temporaryFile() throws IOException {
+        File file = File.createTempFile("colors", ".lut");
+        file.deleteOnExit();
+        return file;
+    }
+}
@@ -0,0 +1,82 @@
+package frc.robot.utilities.logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class LogRingBufferTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int ENTRIES_PER_PRODUCER = 200_000;
+
+    @Test
+    public void roundsCapacityUpToAPowerOfTwo() {
+        assertEquals(8, new LogRingBuffer(5).capacity());
+        assertEquals(8, new LogRingBuffer(8).capacity());
+    }
+
+    @Test
+    public void rejectsEntriesWhenFullAndAcceptsThemAfterADrain() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i, "p", "m" + i, false));
+        }
+        assertFalse(buffer.offer(4, "p", "m4", false));
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, buffer.drain((time, prefix, message, error) -> drained.add(message), 2));
+        assertEquals("m0", drained.get(0));
+        assertEquals("m1", drained.get(1));
+        assertTrue(buffer.offer(4, "p", "m4", true));
+    }
+
+    @Test(timeout = 60_000)
+    public void concurrentProducersLoseNothingAndKeepTheirOrder() throws InterruptedException {
+        LogRingBuffer buffer = new LogRingBuffer(1024);
+        Thread[] producers = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            String prefix = Integer.toString(p);
+            producers[p] = new Thread(() -> {
+                for (int i = 0; i < ENTRIES_PER_PRODUCER; i++) {
+                    // The timestamp carries the entry number, retry while the consumer catches up
+                    while (!buffer.offer(i, prefix, null, false)) {
+                        Thread.yield();
+                    }
+                }
+            }, "LogProducer-" + p);
+            producers[p].start();
+        }
+
+        // This thread is the single consumer
+        long[] next = new long[PRODUCERS];
+        long[] received = new long[1];
+        String[] failure = new String[1];
+        while (received[0] < (long) PRODUCERS * ENTRIES_PER_PRODUCER && failure[0] == null) {
+            int drained = buffer.drain((time, prefix, message, error) -> {
+                int producer = Integer.parseInt(prefix);
+                if (time != next[producer] && failure[0] == null) {
+                    failure[0] = "Producer " + producer + " entry " + time + " arrived, expected " + next[producer];
+                }
+                next[producer] = time + 1;
+                received[0]++;
+            }, 256);
+            if (drained == 0) {
+                Thread.yield();
+            }
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertEquals(null, failure[0]);
+        assertEquals(0, buffer.drain((time, prefix, message, error) -> { }, Integer.MAX_VALUE));
+        for (int p = 0; p < PRODUCERS; p++) {
+            assertEquals(ENTRIES_PER_PRODUCER, next[p]);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package frc.robot.utilities.servo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TrapezoidalProfileTest {
+
+    private static final double MAX_VELOCITY = 2.0;
+    private static final double MAX_ACCELERATION = 4.0;
+    private static final double DT = 0.02;
+    // Rounding slack on the limits
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    public void landsOnTheTargetWithoutOvershoot() {
+        for (double target : new double[] { 1.0, 0.37, 0.013 }) {
+            TrapezoidalProfile profile = new TrapezoidalProfile(MAX_VELOCITY, MAX_ACCELERATION, 0.0);
+            profile.setTarget(target);
+            double previous = 0.0;
+            for (int i = 0; i < 500 && !profile.isFinished(); i++) {
+                profile.step(DT);
+                assertTrue("Passed " + target, profile.getPosition() <= target + EPSILON);
+                assertAccelerationWithinLimit(previous, profile.getVelocity());
+                previous = profile.getVelocity();
+            }
+            assertTrue(profile.isFinished());
+            assertEquals(target, profile.getPosition(), 0.0);
+        }
+    }
+
+    @Test
+    public void brakesWithinTheLimitWhenTheTargetMovesBehindIt() {
+        TrapezoidalProfile profile = new TrapezoidalProfile(MAX_VELOCITY, MAX_ACCELERATION, 0.0);
+        profile.setTarget(1.0);
+        while (profile.getPosition() < 0.5) {
+            profile.step(DT);
+        }
+        profile.setTarget(0.3);
+
+        double previous = profile.getVelocity();
+        for (int i = 0; i < 500 && !profile.isFinished(); i++) {
+            profile.step(DT);
+            assertAccelerationWithinLimit(previous, profile.getVelocity());
+            previous = profile.getVelocity();
+        }
+        assertTrue(profile.isFinished());
+        assertEquals(0.3, profile.getPosition(), 0.0);
+    }
+
+    private static void assertAccelerationWithinLimit(double previous, double velocity) {
+        double acceleration = Math.abs(velocity - previous) / DT;
+        assertTrue("Accelerated at " + acceleration, acceleration <= MAX_ACCELERATION + EPSILON);
+    }
+}